@@ -0,0 +1,51 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.WorkbookListMapper;
+import io.github.luidmidev.apache.poi.WorkbookManager;
+import io.github.luidmidev.apache.poi.model.WorkbookType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the persons to each kind of workbook, without writing it. One million rows of an in-memory XLSX workbook need a
+ * heap of several gigabytes, XLS spreads them over several sheets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class MapperBenchmark {
+
+    public enum Target {
+        XLS, XLSX, STREAMING
+    }
+
+    @Param({"XLS", "XLSX", "STREAMING"})
+    private Target target;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private List<Persons.Person> persons;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        persons = Persons.generate(rows);
+    }
+
+    @Benchmark
+    public int map() throws Exception {
+        var target = switch (this.target) {
+            case XLS -> new WorkbookManager(WorkbookType.XLS);
+            case XLSX -> new WorkbookManager(WorkbookType.XLSX);
+            case STREAMING -> WorkbookManager.streaming();
+        };
+        try (var manager = WorkbookListMapper.from(persons, target).map((ignored, configuration) -> Persons.columns(configuration))) {
+            return manager.getWorkbook().getNumberOfSheets();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.WorkbookListMapper.ListMapperConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data mapped by the benchmarks, the same shape as the persons of the tests.
+ */
+final class Persons {
+
+    private Persons() {
+    }
+
+    record Person(String name, int age, String address, String email, String phone, String lastName) {
+    }
+
+    /**
+     * Generates the persons, with values of varying length so the column widths and styles are not uniform.
+     */
+    static List<Person> generate(int rows) {
+        var persons = new ArrayList<Person>(rows);
+        for (int i = 0; i < rows; i++) {
+            persons.add(new Person("Name " + i, 18 + i % 60, "Street " + i % 997 + ", City " + i % 13,
+                    "person" + i + "@example.com", String.valueOf(1_000_000 + i), "Last name " + i % 101));
+        }
+        return persons;
+    }
+
+    /**
+     * Maps the columns of the persons.
+     */
+    static ListMapperConfiguration<Person> columns(ListMapperConfiguration<Person> configuration) {
+        return configuration
+                .withColumn("Name", Person::name)
+                .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
+                .withNumberColumn("Age", Person::age)
+                .withColumn("Address", Person::address)
+                .withColumn("Email", Person::email)
+                .withColumn("Phone", Person::phone);
+    }
+}
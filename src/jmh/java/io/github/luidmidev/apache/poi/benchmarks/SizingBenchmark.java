@@ -0,0 +1,78 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.CellStylizer;
+import io.github.luidmidev.apache.poi.WorkbookListMapper;
+import io.github.luidmidev.apache.poi.WorkbookListMapper.ListMapperConfiguration;
+import io.github.luidmidev.apache.poi.WorkbookManager;
+import io.github.luidmidev.apache.poi.WorkbookManagerUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps the persons sizing the columns and rows, measured with the font metrics by POI or estimated by the mapper, and
+ * without sizing them as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SizingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private List<Persons.Person> persons;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        persons = Persons.generate(rows);
+    }
+
+    @Benchmark
+    public int baseline() throws Exception {
+        return map(UnaryOperator.identity());
+    }
+
+    @Benchmark
+    public int autoSizeColumns() throws Exception {
+        return map(configuration -> configuration.configureSheet(sheet -> CellStylizer.autoSizeColumns(sheet, 0, 6, 1.1)));
+    }
+
+    @Benchmark
+    public int estimatedColumnWidths() throws Exception {
+        return map(configuration -> configuration.autoSizeColumns(1.1));
+    }
+
+    @Benchmark
+    public int adjustRowHeightByLines() throws Exception {
+        try (var manager = new WorkbookManager()) {
+            return map(manager, configuration -> configuration
+                    .forEachRow((row, person) -> WorkbookManagerUtils.adjustRowHeightByLines(row, manager.getEvaluator())));
+        }
+    }
+
+    @Benchmark
+    public int estimatedRowHeights() throws Exception {
+        return map(ListMapperConfiguration::autoRowHeight);
+    }
+
+    private int map(UnaryOperator<ListMapperConfiguration<Persons.Person>> sizing) throws Exception {
+        try (var manager = new WorkbookManager()) {
+            return map(manager, sizing);
+        }
+    }
+
+    /**
+     * Maps the persons with a multi-line address column.
+     */
+    private int map(WorkbookManager manager, UnaryOperator<ListMapperConfiguration<Persons.Person>> sizing) throws Exception {
+        WorkbookListMapper.from(persons, manager).map((ignored, configuration) -> sizing.apply(Persons.columns(configuration)
+                .withColumn("Lines", person -> person.address().replace(", ", "\n"))));
+        return manager.getWorkbook().getSheetAt(0).getLastRowNum();
+    }
+}
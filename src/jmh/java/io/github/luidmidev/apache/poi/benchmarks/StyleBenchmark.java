@@ -0,0 +1,66 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.CellStylizer;
+import io.github.luidmidev.apache.poi.WorkbookManager;
+import io.github.luidmidev.apache.poi.model.CellStyleDescriptor;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes styles and gets them from the style registry, both cached and created in a new workbook.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StyleBenchmark {
+
+    private static final int DISTINCT_STYLES = 64;
+
+    private WorkbookManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new WorkbookManager();
+        manager.getStyleRegistry().getStyle(stylizer(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.close();
+    }
+
+    @Benchmark
+    public CellStyleDescriptor describe() {
+        return stylizer(0).describe();
+    }
+
+    @Benchmark
+    public CellStyle cachedStyle() {
+        return manager.getStyleRegistry().getStyle(stylizer(0));
+    }
+
+    @Benchmark
+    public int createStyles() throws IOException {
+        try (var target = new WorkbookManager()) {
+            var registry = target.getStyleRegistry();
+            for (int i = 0; i < DISTINCT_STYLES; i++) registry.getStyle(stylizer(i));
+            return target.getWorkbook().getNumCellStyles();
+        }
+    }
+
+    private static CellStylizer stylizer(int variant) {
+        return CellStylizer.init()
+                .allBorders(BorderStyle.THIN)
+                .center()
+                .fontBold()
+                .foregroundColor(variant * 4 % 256, 128, 255 - variant * 4 % 256)
+                .dataFormat("#,##0.00");
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.WorkbookListMapper;
+import io.github.luidmidev.apache.poi.WorkbookManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the sample template and inserts the persons at its start row, moving its footer below them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private byte[] template;
+    private List<Persons.Person> persons;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (var input = getClass().getClassLoader().getResourceAsStream("sample_with_header_and_footer.xlsx")) {
+            if (input == null) throw new IOException("Template sample_with_header_and_footer.xlsx not found");
+            template = input.readAllBytes();
+        }
+        persons = Persons.generate(rows);
+    }
+
+    @Benchmark
+    public int insertAtStartRow() throws Exception {
+        try (var manager = WorkbookListMapper.from(persons, new WorkbookManager(template), 3, 2)
+                .map((ignored, configuration) -> Persons.columns(configuration))) {
+            return manager.getWorkbook().getSheetAt(0).getLastRowNum();
+        }
+    }
+}
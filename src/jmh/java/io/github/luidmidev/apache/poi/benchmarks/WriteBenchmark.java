@@ -0,0 +1,53 @@
+package io.github.luidmidev.apache.poi.benchmarks;
+
+import io.github.luidmidev.apache.poi.WorkbookListMapper;
+import io.github.luidmidev.apache.poi.WorkbookManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a mapped workbook, with or without a column of formulas evaluated before writing, and copies it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean formulas;
+
+    private WorkbookManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        manager = WorkbookListMapper.from(Persons.generate(rows)).map((ignored, configuration) -> {
+            Persons.columns(configuration);
+            if (formulas) configuration.withColumn("Double Age", (person, row) -> null, cell -> cell.setCellFormula("C" + (cell.getRowIndex() + 1) + "*2"));
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.close();
+    }
+
+    @Benchmark
+    public int getSpreadsheet() throws IOException {
+        return manager.getSpreadsheet("Persons").getContent().length;
+    }
+
+    @Benchmark
+    public int copy() throws IOException {
+        try (var copy = manager.copy()) {
+            return copy.getWorkbook().getSheetAt(0).getLastRowNum();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.model.CellStyleDescriptor;
+import io.github.luidmidev.apache.poi.model.CellStyleDescriptor.FontDescriptor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.poi.hssf.record.ExtendedFormatRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.IndexedColorMap;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the cell styles and fonts of a workbook from their descriptors, deduplicated by value. Styles and fonts that
+ * already exist in the workbook, for example those of a loaded template, are reused when they match, so the number of
+ * styles of the workbook only grows with the number of distinct styles.
+ * <p>
+ * To compare a descriptor with the existing styles, it is first applied to a style of a detached workbook of the same
+ * format, which is never written.
+ */
+@Log4j2
+public class CellStyleRegistry {
+
+    private final Workbook workbook;
+    private final Map<CellStyleDescriptor, CellStyle> styles = new HashMap<>();
+    private final Map<FontDescriptor, Font> fonts = new HashMap<>();
+    private final Map<StyleKey, CellStyle> stylesByKey = new HashMap<>();
+    private final Map<FontKey, Font> fontsByKey = new HashMap<>();
+    private final Map<Integer, Color> colors = new HashMap<>();
+    private final WorkbookManager manager;
+    private IndexedColorMap indexedColors;
+    private Workbook prototypes;
+
+    CellStyleRegistry(WorkbookManager manager) {
+        this.manager = manager;
+        this.workbook = manager.getWorkbook();
+    }
+
+    /**
+     * Gets the cell style described by the stylizer, creating it only if no equal style exists in the workbook.
+     * @param stylizer the stylizer
+     * @return the cell style
+     */
+    public CellStyle getStyle(CellStylizer stylizer) {
+        return getStyle(stylizer.describe());
+    }
+
+    /**
+     * Gets the cell style of the descriptor, creating it only if no equal style exists in the workbook.
+     * @param descriptor the style descriptor
+     * @return the cell style
+     */
+    public synchronized CellStyle getStyle(CellStyleDescriptor descriptor) {
+        var style = styles.get(descriptor);
+        if (style != null) return style;
+
+        indexExistingStyles();
+        var prototypeFont = descriptor.font() == null ? null : prototypes.createFont();
+        if (prototypeFont != null) applyFont(descriptor.font(), prototypeFont);
+        var prototype = prototypes.createCellStyle();
+        applyStyle(descriptor, prototype, prototypeFont, prototypes);
+
+        var fontKey = prototypeFont == null ? FontKey.of(workbook.getFontAt(0)) : FontKey.of(prototypeFont);
+        var key = StyleKey.of(prototype, fontKey);
+        style = stylesByKey.get(key);
+        if (style == null) {
+            var start = System.nanoTime();
+            style = workbook.createCellStyle();
+            applyStyle(descriptor, style, descriptor.font() == null ? null : getFont(descriptor.font(), fontKey), workbook);
+            stylesByKey.put(key, style);
+            manager.getMetricsListener().phaseCompleted(WorkbookMetricsListener.Phase.STYLE_BUILDING, System.nanoTime() - start, 1);
+        }
+        styles.put(descriptor, style);
+        return style;
+    }
+
+    /**
+     * Gets the font of the descriptor, creating it only if no equal font is used by a style of the workbook.
+     * @param descriptor the font descriptor
+     * @return the font
+     */
+    public synchronized Font getFont(FontDescriptor descriptor) {
+        var font = fonts.get(descriptor);
+        if (font != null) return font;
+
+        indexExistingStyles();
+        var prototype = prototypes.createFont();
+        applyFont(descriptor, prototype);
+        return getFont(descriptor, FontKey.of(prototype));
+    }
+
+    private Font getFont(FontDescriptor descriptor, FontKey key) {
+        var font = fonts.get(descriptor);
+        if (font != null) return font;
+
+        font = fontsByKey.get(key);
+        if (font == null) {
+            font = workbook.createFont();
+            applyFont(descriptor, font);
+            fontsByKey.put(key, font);
+        }
+        fonts.put(descriptor, font);
+        return font;
+    }
+
+    /**
+     * Indexes the cell styles of the workbook and their fonts on first use, and creates the prototypes workbook.
+     */
+    private void indexExistingStyles() {
+        if (prototypes != null) return;
+        prototypes = workbook instanceof HSSFWorkbook ? new HSSFWorkbook() : new XSSFWorkbook();
+
+        for (int i = 0; i < workbook.getNumCellStyles(); i++) {
+            if (isStyleFormat(i)) continue;
+            var style = workbook.getCellStyleAt(i);
+            var font = workbook.getFontAt(style.getFontIndex());
+            var fontKey = FontKey.of(font);
+            fontsByKey.putIfAbsent(fontKey, font);
+            stylesByKey.putIfAbsent(StyleKey.of(style, fontKey), style);
+        }
+        log.debug("Indexed {} distinct cell styles of the workbook", stylesByKey.size());
+    }
+
+    /**
+     * Whether the format at the index is a parent style of the XLS format, which cannot be applied to cells.
+     */
+    private boolean isStyleFormat(int index) {
+        return workbook instanceof HSSFWorkbook hssfWorkbook
+                && hssfWorkbook.getInternalWorkbook().getExFormatAt(index).getXFType() == ExtendedFormatRecord.XF_STYLE;
+    }
+
+    private void applyStyle(CellStyleDescriptor descriptor, CellStyle style, Font font, Workbook owner) {
+        if (descriptor.borderTop() != null) style.setBorderTop(descriptor.borderTop());
+        if (descriptor.borderRight() != null) style.setBorderRight(descriptor.borderRight());
+        if (descriptor.borderBottom() != null) style.setBorderBottom(descriptor.borderBottom());
+        if (descriptor.borderLeft() != null) style.setBorderLeft(descriptor.borderLeft());
+        if (descriptor.alignment() != null) style.setAlignment(descriptor.alignment());
+        if (descriptor.verticalAlignment() != null) style.setVerticalAlignment(descriptor.verticalAlignment());
+        if (descriptor.wrapText()) style.setWrapText(true);
+
+        if (descriptor.foregroundColorIndex() != null) style.setFillForegroundColor(descriptor.foregroundColorIndex());
+        if (descriptor.foregroundColor() != null) style.setFillForegroundColor(descriptor.foregroundColor());
+        if (descriptor.foregroundRgb() != null) style.setFillForegroundColor(resolveColor(descriptor.foregroundRgb()));
+        if (descriptor.fillPattern() != null) style.setFillPattern(descriptor.fillPattern());
+        if (descriptor.dataFormat() != null) style.setDataFormat(owner.createDataFormat().getFormat(descriptor.dataFormat()));
+
+        if (font != null) style.setFont(font);
+    }
+
+    private static void applyFont(FontDescriptor descriptor, Font font) {
+        if (descriptor.color() != null) font.setColor(descriptor.color());
+        if (descriptor.bold()) font.setBold(true);
+        if (descriptor.heightInPoints() != null) font.setFontHeightInPoints(descriptor.heightInPoints());
+        if (descriptor.name() != null) font.setFontName(descriptor.name());
+    }
+
+    /**
+     * Gets the color closest to the given components for the workbook, the most similar palette color for XLS. Colors
+     * are cached by value, so the same instance is returned for the same components; changes made to the XLS palette
+     * after a color was resolved are not seen.
+     * @param red the red component
+     * @param green the green component
+     * @param blue the blue component
+     * @return the color
+     */
+    public synchronized Color getColor(int red, int green, int blue) {
+        if ((red | green | blue) >> 8 != 0) {
+            throw new IllegalArgumentException("Color components must be between 0 and 255: " + red + ", " + green + ", " + blue);
+        }
+        return resolveColor(red << 16 | green << 8 | blue);
+    }
+
+    /**
+     * Resolves the color based on the workbook type, XLSX colors are built from the raw bytes without AWT.
+     * @param rgb the color as 0xRRGGBB
+     * @return the cached color
+     */
+    private Color resolveColor(int rgb) {
+        var color = colors.get(rgb);
+        if (color != null) return color;
+
+        if (workbook instanceof HSSFWorkbook hssfWorkbook) {
+            color = hssfWorkbook.getCustomPalette().findSimilarColor(rgb >> 16 & 0xFF, rgb >> 8 & 0xFF, rgb & 0xFF);
+        } else {
+            if (indexedColors == null) indexedColors = resolveIndexedColors();
+            color = new XSSFColor(new byte[]{(byte) (rgb >> 16), (byte) (rgb >> 8), (byte) rgb}, indexedColors);
+        }
+        colors.put(rgb, color);
+        return color;
+    }
+
+    private IndexedColorMap resolveIndexedColors() {
+        return switch (workbook) {
+            case XSSFWorkbook xssfWorkbook -> xssfWorkbook.getStylesSource().getIndexedColors();
+            case SXSSFWorkbook sxssfWorkbook -> sxssfWorkbook.getXSSFWorkbook().getStylesSource().getIndexedColors();
+            default -> throw new UnsupportedOperationException("Workbook not supported for color resolution: " + workbook);
+        };
+    }
+
+    /**
+     * Releases the prototypes workbook.
+     */
+    void close() throws IOException {
+        if (prototypes != null) prototypes.close();
+    }
+
+    /**
+     * The value of a cell style as written to the file, data formats are compared by their pattern, as custom formats get
+     * a different index in each workbook, and colors given as RGB by their hex value. The colors of missing borders and
+     * fills are ignored, as they are not displayed.
+     */
+    private record StyleKey(
+            String dataFormat, HorizontalAlignment alignment, VerticalAlignment verticalAlignment, boolean wrapText,
+            BorderStyle borderTop, BorderStyle borderRight, BorderStyle borderBottom, BorderStyle borderLeft,
+            short topBorderColor, short rightBorderColor, short bottomBorderColor, short leftBorderColor,
+            FillPatternType fillPattern, short foregroundColor, String foregroundRgb, short backgroundColor,
+            boolean locked, boolean hidden, short indention, short rotation, boolean shrinkToFit, boolean quotePrefixed,
+            FontKey font
+    ) {
+        private static StyleKey of(CellStyle style, FontKey font) {
+            var filled = style.getFillPattern() != FillPatternType.NO_FILL;
+            var foregroundRgb = filled && style.getFillForegroundColorColor() instanceof ExtendedColor color && !color.isIndexed() ? color.getARGBHex() : null;
+            return new StyleKey(style.getDataFormatString(), style.getAlignment(), style.getVerticalAlignment(), style.getWrapText(),
+                    style.getBorderTop(), style.getBorderRight(), style.getBorderBottom(), style.getBorderLeft(),
+                    borderColor(style.getBorderTop(), style.getTopBorderColor()), borderColor(style.getBorderRight(), style.getRightBorderColor()),
+                    borderColor(style.getBorderBottom(), style.getBottomBorderColor()), borderColor(style.getBorderLeft(), style.getLeftBorderColor()),
+                    style.getFillPattern(), filled ? style.getFillForegroundColor() : 0, foregroundRgb, filled ? style.getFillBackgroundColor() : 0,
+                    style.getLocked(), style.getHidden(), style.getIndention(), style.getRotation(), style.getShrinkToFit(), style.getQuotePrefixed(),
+                    font);
+        }
+
+        private static short borderColor(BorderStyle border, short color) {
+            return border == BorderStyle.NONE ? 0 : color;
+        }
+    }
+
+    /**
+     * The value of a font as written to the file.
+     */
+    private record FontKey(String name, short height, short color, boolean bold, boolean italic, boolean strikeout, byte underline, short typeOffset) {
+        private static FontKey of(Font font) {
+            return new FontKey(font.getFontName(), font.getFontHeight(), font.getColor(), font.getBold(), font.getItalic(),
+                    font.getStrikeout(), font.getUnderline(), font.getTypeOffset());
+        }
+    }
+}
@@ -1,26 +1,32 @@
 package io.github.luidmidev.apache.poi;
 
-import io.github.luidmidev.apache.poi.functions.WorkbookHolderConsumer;
-import lombok.Data;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.log4j.Log4j2;
-import org.apache.poi.hssf.usermodel.HSSFPalette;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import io.github.luidmidev.apache.poi.model.CellStyleDescriptor;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
-import org.apache.poi.xssf.usermodel.XSSFColor;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
 
 /**
- * A fluent API for styling cells.
+ * A fluent API for styling cells. A stylizer only describes the style, see {@link #describe()}, the cell style is
+ * created by the {@link CellStyleRegistry} of the workbook, so equal stylizers share the same cell style.
  */
-@Log4j2
 public class CellStylizer {
 
-    private final List<WorkbookHolderConsumer> consumers = new ArrayList<>();
+    private BorderStyle borderTop;
+    private BorderStyle borderRight;
+    private BorderStyle borderBottom;
+    private BorderStyle borderLeft;
+    private HorizontalAlignment alignment;
+    private VerticalAlignment verticalAlignment;
+    private boolean wrapText;
+    private Short foregroundColorIndex;
+    private Color foregroundColor;
+    private Integer foregroundRgb;
+    private FillPatternType fillPattern;
+    private String dataFormat;
+    private Short fontColor;
+    private boolean fontBold;
+    private Short fontSize;
+    private String fontName;
 
     /**
      * Initializes the cell stylizer.
@@ -31,23 +37,15 @@ public class CellStylizer {
     }
 
     /**
-     * Builds the cell style.
-     * @param workbook the workbook to build the style for
-     * @return the cell style
+     * Describes the style configured so far.
+     * @return the immutable descriptor of the style
      */
-    CellStyle build(Workbook workbook) {
-
-        var holder = new WorkbookHolder(workbook);
-
-        if (consumers.isEmpty()) {
-            log.debug("No style was applied to the cell");
-        }
-
-        for (var consumer : consumers) {
-            consumer.accept(holder);
-        }
-
-        return holder.getStyle();
+    public CellStyleDescriptor describe() {
+        var font = fontColor == null && !fontBold && fontSize == null && fontName == null
+                ? null
+                : new CellStyleDescriptor.FontDescriptor(fontColor, fontBold, fontSize, fontName);
+        return new CellStyleDescriptor(borderTop, borderRight, borderBottom, borderLeft, alignment, verticalAlignment, wrapText,
+                foregroundColorIndex, foregroundColor, foregroundRgb, fillPattern, dataFormat, font);
     }
 
     /**
@@ -56,8 +54,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer allBorders(BorderStyle borderStyle) {
-        consumers.add(holder -> setBorders(holder.getStyle(), borderStyle, borderStyle, borderStyle, borderStyle));
-        return this;
+        return onlyBorders(borderStyle, borderStyle, borderStyle, borderStyle);
     }
 
     /**
@@ -69,7 +66,10 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer onlyBorders(BorderStyle top, BorderStyle right, BorderStyle bottom, BorderStyle left) {
-        consumers.add(holder -> setBorders(holder.getStyle(), top, right, bottom, left));
+        this.borderTop = top == null ? BorderStyle.NONE : top;
+        this.borderRight = right == null ? BorderStyle.NONE : right;
+        this.borderBottom = bottom == null ? BorderStyle.NONE : bottom;
+        this.borderLeft = left == null ? BorderStyle.NONE : left;
         return this;
     }
 
@@ -78,7 +78,8 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer center() {
-        consumers.add(holder -> setCenter(holder.getStyle()));
+        this.alignment = HorizontalAlignment.CENTER;
+        this.verticalAlignment = VerticalAlignment.CENTER;
         return this;
     }
 
@@ -111,7 +112,10 @@ public class CellStylizer {
     }
 
     public CellStylizer foregroundColor(int red, int green, int blue, FillPatternType fillPattern) {
-        consumers.add(holder -> setForeground(holder.getStyle(), resolveColor(red, green, blue, holder.getWorkbook()), fillPattern));
+        if ((red | green | blue) >> 8 != 0) {
+            throw new IllegalArgumentException("Color components must be between 0 and 255: " + red + ", " + green + ", " + blue);
+        }
+        setForeground(null, null, red << 16 | green << 8 | blue, fillPattern);
         return this;
     }
 
@@ -133,7 +137,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer foregroundColor(short index, FillPatternType fillPattern) {
-        consumers.add(holder -> setForeground(holder.getStyle(), index, fillPattern));
+        setForeground(index, null, null, fillPattern);
         return this;
     }
 
@@ -144,7 +148,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer foregroundColor(Color color, FillPatternType fillPattern) {
-        consumers.add(holder -> setForeground(holder.getStyle(), color, fillPattern));
+        setForeground(null, color, null, fillPattern);
         return this;
     }
 
@@ -163,7 +167,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer fontColor(short index) {
-        consumers.add(holder -> holder.getFont().setColor(index));
+        this.fontColor = index;
         return this;
     }
 
@@ -172,7 +176,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer fontBold() {
-        consumers.add(holder -> holder.getFont().setBold(true));
+        this.fontBold = true;
         return this;
     }
 
@@ -182,7 +186,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer fontSize(int fontSize) {
-        consumers.add(holder -> holder.getFont().setFontHeightInPoints((short) fontSize));
+        this.fontSize = (short) fontSize;
         return this;
     }
 
@@ -192,7 +196,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer fontName(String fontName) {
-        consumers.add(holder -> holder.getFont().setFontName(fontName));
+        this.fontName = fontName;
         return this;
     }
 
@@ -202,7 +206,7 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer alignment(HorizontalAlignment horizontalAlignment) {
-        consumers.add(holder -> holder.getStyle().setAlignment(horizontalAlignment));
+        this.alignment = horizontalAlignment;
         return this;
     }
 
@@ -212,126 +216,52 @@ public class CellStylizer {
      * @return the current cell stylizer
      */
     public CellStylizer alignment(VerticalAlignment verticalAlignment) {
-        consumers.add(holder -> holder.getStyle().setVerticalAlignment(verticalAlignment));
+        this.verticalAlignment = verticalAlignment;
         return this;
     }
 
     /**
-     * Set the cell to wrap text.
+     * Sets the data format of the cell, used to display numbers and dates.
+     * @param dataFormat the data format, for example "#,##0.00" or "yyyy-mm-dd"
      * @return the current cell stylizer
      */
-    public CellStylizer wrapText() {
-        consumers.add(holder -> holder.getStyle().setWrapText(true));
+    public CellStylizer dataFormat(String dataFormat) {
+        this.dataFormat = dataFormat;
         return this;
     }
 
     /**
-     * Set the cell to not wrap text.
-     * @param style the cell style to set
-     * @param top the border style for the top border
-     * @param right the border style for the right border
-     * @param bottom the border style for the bottom border
-     * @param left the border style for the left border
-     */
-    private static void setBorders(CellStyle style, BorderStyle top, BorderStyle right, BorderStyle bottom, BorderStyle left) {
-        style.setBorderTop(top == null ? BorderStyle.NONE : top);
-        style.setBorderRight(right == null ? BorderStyle.NONE : right);
-        style.setBorderBottom(bottom == null ? BorderStyle.NONE : bottom);
-        style.setBorderLeft(left == null ? BorderStyle.NONE : left);
-    }
-
-    /**
-     * Set the cell to center.
-     * @param style the cell style to set
-     */
-    private static void setCenter(CellStyle style) {
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-    }
-
-
-    /**
-     * Set the foreground color for the cell.
-     * @param style the cell style to set
-     * @param color the color to set
-     * @param fillPattern the fill pattern to set
+     * Set the cell to wrap text.
+     * @return the current cell stylizer
      */
-    private static void setForeground(CellStyle style, short color, FillPatternType fillPattern) {
-        style.setFillForegroundColor(color);
-        style.setFillPattern(fillPattern);
+    public CellStylizer wrapText() {
+        this.wrapText = true;
+        return this;
     }
 
     /**
-     * Set the foreground color for the cell.
-     * @param style the cell style to set
-     * @param color the color to set
-     * @param fillPattern the fill pattern to set
+     * Sets the foreground, a color can only be given in one form, so setting it clears the other ones.
      */
-    private static void setForeground(CellStyle style, Color color, FillPatternType fillPattern) {
-        style.setFillForegroundColor(color);
-        style.setFillPattern(fillPattern);
+    private void setForeground(Short index, Color color, Integer rgb, FillPatternType fillPattern) {
+        this.foregroundColorIndex = index;
+        this.foregroundColor = color;
+        this.foregroundRgb = rgb;
+        this.fillPattern = fillPattern;
     }
 
     /**
-     * Resolves the color based on the workbook type.
-     * @param red the red component
-     * @param green the green component
-     * @param blue the blue component
-     * @param workbook the workbook to resolve the color for
-     * @return the color
+     * Two stylizers are equal when they describe the same style, the result changes as they are configured.
      */
-    private static Color resolveColor(int red, int green, int blue, Workbook workbook) {
-
-        if (workbook instanceof HSSFWorkbook hssfWorkbook) {
-            HSSFPalette colorMap = hssfWorkbook.getCustomPalette();
-            return colorMap.findSimilarColor(red, green, blue);
-        }
-
-        if (workbook instanceof XSSFWorkbook xssfWorkbook) {
-            var indexedColors = xssfWorkbook.getStylesSource().getIndexedColors();
-            return new XSSFColor(new java.awt.Color(red, green, blue), indexedColors);
-        }
-
-        if (workbook instanceof SXSSFWorkbook sxssfWorkbook) {
-            var indexedColors = sxssfWorkbook.getXSSFWorkbook().getStylesSource().getIndexedColors();
-            return new XSSFColor(new java.awt.Color(red, green, blue), indexedColors);
-        }
-
-        throw new UnsupportedOperationException("Workbook not supported for color resolution: " + workbook);
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CellStylizer that)) return false;
+        return describe().equals(that.describe());
     }
 
-    /**
-     * Represents a holder for the workbook and its style and font creation.
-     */
-    @Data
-    @RequiredArgsConstructor
-    public static class WorkbookHolder {
-
-        private final Workbook workbook;
-        private Font font;
-        private CellStyle style;
-
-        /**
-         * Gets the font for the workbook, if it doesn't exist, it will be created.
-         * @return the font
-         */
-        private Font getFont() {
-
-            if (font == null) {
-                font = workbook.createFont();
-                getStyle().setFont(font);
-            }
-
-            return font;
-        }
-
-        /**
-         * Gets the style for the workbook, if it doesn't exist, it will be created.
-         * @return the style
-         */
-        private CellStyle getStyle() {
-            return style == null ? workbook.createCellStyle() : style;
-        }
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(describe());
     }
 
     public static void autoSizeColumns(Sheet sheet, int startColumn, int endColumn, double widthMultiplier) {
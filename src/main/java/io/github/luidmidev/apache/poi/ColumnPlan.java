@@ -0,0 +1,240 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.annotations.WorkbookColumn;
+import io.github.luidmidev.apache.poi.functions.Functionals;
+import lombok.extern.log4j.Log4j2;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * The columns of a record or bean type, discovered once per type and kept in a class keyed cache. Accessors are compiled
+ * to typed functional interfaces with {@link LambdaMetafactory}, so reading a value costs the same as a hand-written
+ * lambda and primitive values are written through the typed columns of {@link WorkbookListMapper.ListMapperConfiguration}
+ * without boxing.
+ *
+ * @param <T> the mapped type
+ */
+@Log4j2
+final class ColumnPlan<T> {
+
+    private static final String DEFAULT_DATE_FORMAT = "yyyy-mm-dd";
+    private static final String DEFAULT_DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    private static final ClassValue<ColumnPlan<?>> PLANS = new ClassValue<>() {
+        @Override
+        protected ColumnPlan<?> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final List<Column<T>> columns;
+
+    private ColumnPlan(List<Column<T>> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the plan of the type, record components for records and getters of the declared fields for other classes.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ColumnPlan<T> of(Class<T> type) {
+        return (ColumnPlan<T>) PLANS.get(type);
+    }
+
+    /**
+     * Adds the columns to the configuration, formats are resolved to styles of its workbook.
+     */
+    void applyTo(WorkbookListMapper.ListMapperConfiguration<T> configuration) {
+        for (var column : columns) {
+            Consumer<Cell> cellConfigurator = column.format() == null
+                    ? Functionals.consumerNoAction()
+                    : styleAction(configuration.computeStyle(CellStylizer.init().dataFormat(column.format())));
+            column.adder().add(configuration, column.header(), cellConfigurator);
+        }
+    }
+
+    private static Consumer<Cell> styleAction(CellStyle style) {
+        return cell -> cell.setCellStyle(style);
+    }
+
+    private static <T> ColumnPlan<T> compile(Class<T> type) {
+        var lookup = lookup(type);
+        var properties = new ArrayList<Property>();
+        if (type.isRecord()) {
+            for (var component : type.getRecordComponents()) {
+                properties.add(new Property(component.getName(), component.getAccessor(), component));
+            }
+        } else {
+            collectBeanProperties(type, properties);
+        }
+
+        var columns = new ArrayList<OrderedColumn<T>>();
+        for (var property : properties) {
+            var annotation = property.annotation();
+            if (annotation != null && annotation.ignore()) continue;
+            var header = annotation == null || annotation.value().isEmpty() ? header(property.name()) : annotation.value();
+            var order = annotation == null ? Integer.MAX_VALUE : annotation.order();
+            var format = annotation == null || annotation.format().isEmpty() ? defaultFormat(property.getter().getReturnType()) : annotation.format();
+            columns.add(new OrderedColumn<>(order, columns.size(), new Column<>(header, format, adder(lookup, property.getter()))));
+        }
+        columns.sort(Comparator.comparingInt(OrderedColumn<T>::order).thenComparingInt(OrderedColumn::position));
+        log.debug("Compiled {} columns for {}", columns.size(), type.getName());
+        return new ColumnPlan<>(columns.stream().map(OrderedColumn::column).toList());
+    }
+
+    /**
+     * Collects the properties of the fields with a public getter, superclass fields first.
+     */
+    private static void collectBeanProperties(Class<?> type, List<Property> properties) {
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) collectBeanProperties(type.getSuperclass(), properties);
+        for (var field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+            var getter = findGetter(type, field.getName(), field.getType());
+            if (getter != null) properties.add(new Property(field.getName(), getter, field));
+        }
+    }
+
+    private static Method findGetter(Class<?> type, String name, Class<?> fieldType) {
+        var suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (var prefix : fieldType == boolean.class ? new String[]{"is", "get"} : new String[]{"get"}) {
+            try {
+                var method = type.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) return method;
+            } catch (NoSuchMethodException e) {
+                // try the next prefix
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the typed column of the getter, compiling it to the functional interface of the column.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ColumnAdder<T> adder(MethodHandles.Lookup lookup, Method getter) {
+        var returnType = getter.getReturnType();
+        if (returnType == int.class || returnType == short.class || returnType == byte.class || returnType == char.class) {
+            ToIntFunction<T> function = compile(lookup, getter, ToIntFunction.class, "applyAsInt", int.class, handle -> model -> ((Number) invoke(handle, model)).intValue());
+            return (configuration, header, action) -> configuration.withIntColumn(header, function, action);
+        }
+        if (returnType == double.class || returnType == float.class || returnType == long.class) {
+            ToDoubleFunction<T> function = compile(lookup, getter, ToDoubleFunction.class, "applyAsDouble", double.class, handle -> model -> ((Number) invoke(handle, model)).doubleValue());
+            return (configuration, header, action) -> configuration.withNumberColumn(header, function, action);
+        }
+        if (returnType == boolean.class) {
+            Predicate<T> function = compile(lookup, getter, Predicate.class, "test", boolean.class, handle -> model -> (Boolean) invoke(handle, model));
+            return (configuration, header, action) -> configuration.withBooleanColumn(header, function, action);
+        }
+
+        Function<T, Object> function = compile(lookup, getter, Function.class, "apply", Object.class, handle -> model -> invoke(handle, model));
+        if (returnType == String.class) {
+            return (configuration, header, action) -> configuration.withStringColumn(header, model -> (String) function.apply(model), action);
+        }
+        if (returnType == LocalDate.class) {
+            return (configuration, header, action) -> configuration.withDateColumn(header, model -> (LocalDate) function.apply(model), action);
+        }
+        if (returnType == LocalDateTime.class) {
+            return (configuration, header, action) -> configuration.withDateTimeColumn(header, model -> (LocalDateTime) function.apply(model), action);
+        }
+        return (configuration, header, action) -> configuration.withColumn(header, function, action);
+    }
+
+    /**
+     * Compiles the getter to an instance of the functional interface, or wraps its method handle when the type cannot be
+     * accessed by a generated class, for example when its module is not open.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F compile(MethodHandles.Lookup lookup, Method getter, Class<? super F> functionalInterface, String methodName, Class<?> returnType, Function<MethodHandle, F> fallback) {
+        MethodHandle handle;
+        try {
+            handle = lookup == null ? MethodHandles.publicLookup().unreflect(getter) : lookup.unreflect(getter);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Unable to access " + getter + ": " + e.getMessage(), e);
+        }
+        if (lookup == null) return fallback.apply(handle.asType(MethodType.methodType(Object.class, Object.class)));
+
+        try {
+            var site = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionalInterface),
+                    MethodType.methodType(returnType, Object.class), handle, MethodType.methodType(returnType == Object.class ? getter.getReturnType() : returnType, getter.getDeclaringClass()));
+            return (F) site.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Unable to compile {}, using its method handle: {}", getter, e.getMessage());
+            return fallback.apply(handle.asType(MethodType.methodType(Object.class, Object.class)));
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object model) {
+        try {
+            return handle.invokeExact(model);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            log.debug("Unable to get a private lookup in {}, using public access: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Splits a camel case name into capitalized words, for example "Birth Date" for birthDate.
+     */
+    private static String header(String name) {
+        var header = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            var c = name.charAt(i);
+            if (i == 0) header.append(Character.toUpperCase(c));
+            else if (Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))) header.append(' ').append(c);
+            else header.append(c);
+        }
+        return header.toString();
+    }
+
+    private static String defaultFormat(Class<?> type) {
+        if (type == LocalDate.class) return DEFAULT_DATE_FORMAT;
+        if (type == LocalDateTime.class) return DEFAULT_DATE_TIME_FORMAT;
+        return null;
+    }
+
+    private record Property(String name, Method getter, AnnotatedElement element) {
+        private WorkbookColumn annotation() {
+            var annotation = element.getAnnotation(WorkbookColumn.class);
+            return annotation != null ? annotation : getter.getAnnotation(WorkbookColumn.class);
+        }
+    }
+
+    private record Column<T>(String header, String format, ColumnAdder<T> adder) {
+    }
+
+    private record OrderedColumn<T>(int order, int position, Column<T> column) {
+    }
+
+    @FunctionalInterface
+    private interface ColumnAdder<T> {
+        void add(WorkbookListMapper.ListMapperConfiguration<T> configuration, String header, Consumer<Cell> cellConfigurator);
+    }
+}
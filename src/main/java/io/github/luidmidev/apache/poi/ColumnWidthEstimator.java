@@ -0,0 +1,87 @@
+package io.github.luidmidev.apache.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the width of a range of columns from the values written to them, as an alternative to
+ * {@link Sheet#autoSizeColumn(int)} that measures no font and keeps working once the rows of a streaming sheet are flushed.
+ * The width of a value is the length of its longest line as displayed, numbers and dates rendered with the format of the
+ * cell, scaled by the size of the cell font relative to the default font of the workbook.
+ */
+final class ColumnWidthEstimator {
+
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+    private static final double PADDING_CHARACTERS = 1;
+    private static final double BOLD_WIDTH_FACTOR = 1.1;
+    private static final int BOOLEAN_CHARACTERS = 5;
+
+    private final Workbook workbook;
+    private final DataFormatter formatter = new DataFormatter();
+    private final int firstColumn;
+    private final double[] widths;
+    private final double defaultFontPoints;
+    private StyleMetrics[] metricsByStyle = new StyleMetrics[16];
+
+    /**
+     * @param workbook    the workbook of the cells
+     * @param firstColumn the index of the first estimated column
+     * @param columns     the number of estimated columns
+     */
+    ColumnWidthEstimator(Workbook workbook, int firstColumn, int columns) {
+        this.workbook = workbook;
+        this.firstColumn = firstColumn;
+        this.widths = new double[columns];
+        this.defaultFontPoints = workbook.getFontAt(0).getFontHeightInPoints();
+    }
+
+    /**
+     * Measures the value of the cell, once its value and style are set. Formula and blank cells are not measured.
+     */
+    void measure(Cell cell) {
+        var column = cell.getColumnIndex() - firstColumn;
+        if (column < 0 || column >= widths.length) return;
+
+        var metrics = metrics(cell.getCellStyle());
+        var characters = switch (cell.getCellType()) {
+            case STRING -> WorkbookManagerUtils.longestLineLength(cell.getStringCellValue());
+            case NUMERIC -> formatter.formatRawCellContents(cell.getNumericCellValue(), metrics.dataFormat(), metrics.dataFormatString()).length();
+            case BOOLEAN -> BOOLEAN_CHARACTERS;
+            default -> 0;
+        };
+        var width = characters * metrics.widthFactor();
+        if (width > widths[column]) widths[column] = width;
+    }
+
+    /**
+     * Sets the estimated widths on the sheet, columns without measured values keep their width.
+     */
+    void apply(Sheet sheet, double widthMultiplier) {
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] == 0) continue;
+            var width = (int) ((widths[i] + PADDING_CHARACTERS) * 256 * widthMultiplier);
+            sheet.setColumnWidth(firstColumn + i, Math.min(width, MAX_COLUMN_WIDTH));
+        }
+    }
+
+    private StyleMetrics metrics(CellStyle style) {
+        var index = style.getIndex() & 0xFFFF;
+        if (index >= metricsByStyle.length) metricsByStyle = Arrays.copyOf(metricsByStyle, Math.max(index + 1, metricsByStyle.length * 2));
+        var metrics = metricsByStyle[index];
+        if (metrics == null) {
+            var font = workbook.getFontAt(style.getFontIndex());
+            var widthFactor = font.getFontHeightInPoints() / defaultFontPoints * (font.getBold() ? BOLD_WIDTH_FACTOR : 1);
+            metrics = new StyleMetrics(widthFactor, style.getDataFormat(), style.getDataFormatString());
+            metricsByStyle[index] = metrics;
+        }
+        return metrics;
+    }
+
+    private record StyleMetrics(double widthFactor, short dataFormat, String dataFormatString) {
+    }
+}
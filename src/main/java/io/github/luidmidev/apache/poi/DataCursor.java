@@ -0,0 +1,66 @@
+package io.github.luidmidev.apache.poi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Represents a forward only source of models that is consumed once, such as the rows of a database result set.
+ * Sources of unknown size are mapped in a single pass without being materialized in memory.
+ *
+ * @param <T> the type of the models
+ */
+public interface DataCursor<T> extends Iterator<T>, Closeable {
+
+    /**
+     * Returns the number of models of the source when it is known in advance.
+     *
+     * @return the number of models, or -1 if it is unknown
+     */
+    default int knownSize() {
+        return -1;
+    }
+
+    /**
+     * Releases the underlying resources, by default does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    default void close() throws IOException {
+        // Do nothing
+    }
+
+    /**
+     * Creates a cursor over an iterable, the size is known when it is a {@link Collection}.
+     *
+     * @param iterable the iterable
+     * @return the cursor
+     */
+    static <T> DataCursor<T> of(Iterable<T> iterable) {
+        var size = iterable instanceof Collection<?> collection ? collection.size() : -1;
+        return new IteratorDataCursor<>(iterable.iterator(), size, null);
+    }
+
+    /**
+     * Creates a cursor of unknown size over an iterator.
+     *
+     * @param iterator the iterator
+     * @return the cursor
+     */
+    static <T> DataCursor<T> of(Iterator<T> iterator) {
+        return iterator instanceof DataCursor<T> cursor ? cursor : new IteratorDataCursor<>(iterator, -1, null);
+    }
+
+    /**
+     * Creates a cursor of unknown size over a stream, the stream is closed with the cursor.
+     *
+     * @param stream the stream
+     * @return the cursor
+     */
+    static <T> DataCursor<T> of(Stream<T> stream) {
+        return new IteratorDataCursor<>(stream.iterator(), -1, stream);
+    }
+}
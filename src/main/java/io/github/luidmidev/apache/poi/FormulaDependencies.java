@@ -0,0 +1,257 @@
+package io.github.luidmidev.apache.poi;
+
+import org.apache.poi.hssf.usermodel.HSSFEvaluationWorkbook;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.EvaluationWorkbook;
+import org.apache.poi.ss.formula.ExternSheetReferenceToken;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaParsingWorkbook;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.*;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.util.*;
+
+/**
+ * Index of the formulas of a workbook by the cells they read, used to find the formulas depending on the written cells
+ * without walking every formula. References the index can not follow, volatile functions, external references or
+ * formulas it can not parse, make their formula depend on every cell.
+ * <p>
+ * The index holds the cells of the formulas, so it must be rebuilt after shifting or removing rows, removing or
+ * reordering sheets or redefining names; a formula found out of place when it is looked up fails the lookup.
+ */
+final class FormulaDependencies {
+
+    /**
+     * Precedents spanning more rows are scanned on each lookup instead of being indexed by row.
+     */
+    private static final int MAX_INDEXED_ROWS = 64;
+
+    private static final int MAX_NAME_DEPTH = 8;
+
+    private static final Set<String> VOLATILE_FUNCTIONS = Set.of("INDIRECT", "OFFSET", "NOW", "TODAY", "RAND", "RANDBETWEEN", "CELL", "INFO");
+
+    private final Workbook workbook;
+    private final EvaluationWorkbook evaluationWorkbook;
+    private final FormulaParsingWorkbook parsingWorkbook;
+    private final Map<Cell, Formula> formulas = new IdentityHashMap<>();
+    private final Map<Integer, SheetPrecedents> sheets = new HashMap<>();
+    private final Set<Formula> volatileFormulas = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    FormulaDependencies(Workbook workbook) {
+        this.workbook = workbook;
+        switch (workbook) {
+            case XSSFWorkbook xssfWorkbook -> {
+                var evaluation = XSSFEvaluationWorkbook.create(xssfWorkbook);
+                this.evaluationWorkbook = evaluation;
+                this.parsingWorkbook = evaluation;
+            }
+            case HSSFWorkbook hssfWorkbook -> {
+                var evaluation = HSSFEvaluationWorkbook.create(hssfWorkbook);
+                this.evaluationWorkbook = evaluation;
+                this.parsingWorkbook = evaluation;
+            }
+            default -> throw new IllegalArgumentException("Unsupported workbook " + workbook.getClass().getName());
+        }
+    }
+
+    /**
+     * Adds the formula of the cell, replacing the one it had.
+     *
+     * @param cell the formula cell
+     */
+    void add(Cell cell) {
+        var text = cell.getCellFormula();
+        var previous = formulas.get(cell);
+        if (previous != null) {
+            if (previous.text.equals(text)) return;
+            remove(cell);
+        }
+
+        var sheetIndex = workbook.getSheetIndex(cell.getSheet());
+        var formula = new Formula(cell, text, sheetIndex, cell.getRowIndex(), cell.getColumnIndex());
+        formulas.put(cell, formula);
+        if (!collect(formula, parse(text, sheetIndex, cell.getRowIndex()), 0)) volatileFormulas.add(formula);
+    }
+
+    /**
+     * Removes the formula of the cell, if any.
+     *
+     * @param cell the cell
+     */
+    void remove(Cell cell) {
+        var formula = formulas.remove(cell);
+        if (formula == null) return;
+        formula.removed = true;
+        volatileFormulas.remove(formula);
+    }
+
+    int size() {
+        return formulas.size();
+    }
+
+    /**
+     * Collects the formulas reading the area, directly or through other formulas, and the formulas depending on every cell.
+     *
+     * @param sheet       the sheet of the area
+     * @param firstRow    the first row of the area
+     * @param lastRow     the last row of the area
+     * @param firstColumn the first column of the area
+     * @param lastColumn  the last column of the area
+     * @param dependents  the collected formula cells
+     * @return false if a collected formula is no longer at the place it was added at, the index must be rebuilt
+     */
+    boolean collectDependents(Sheet sheet, int firstRow, int lastRow, int firstColumn, int lastColumn, Set<Cell> dependents) {
+        var pending = new ArrayDeque<int[]>();
+        pending.add(new int[]{workbook.getSheetIndex(sheet), firstRow, lastRow, firstColumn, lastColumn});
+        for (var formula : volatileFormulas) {
+            if (!addDependent(formula, dependents, pending)) return false;
+        }
+
+        int[] area;
+        while ((area = pending.poll()) != null) {
+            var precedents = sheets.get(area[0]);
+            if (precedents == null) continue;
+            var inPlace = collectIntersecting(precedents.wide, area, dependents, pending);
+            if (area[2] - area[1] < precedents.rows.size()) {
+                for (int rowIndex = area[1]; rowIndex <= area[2] && inPlace; rowIndex++) {
+                    var row = precedents.rows.get(rowIndex);
+                    if (row != null) inPlace = collectIntersecting(row, area, dependents, pending);
+                }
+            } else {
+                for (var row : precedents.rows.values()) {
+                    if (!(inPlace = collectIntersecting(row, area, dependents, pending))) break;
+                }
+            }
+            if (!inPlace) return false;
+        }
+        return true;
+    }
+
+    private boolean collectIntersecting(List<Precedent> precedents, int[] area, Set<Cell> dependents, Deque<int[]> pending) {
+        for (var precedent : precedents) {
+            if (precedent.intersects(area) && !addDependent(precedent.formula, dependents, pending)) return false;
+        }
+        return true;
+    }
+
+    private boolean addDependent(Formula formula, Set<Cell> dependents, Deque<int[]> pending) {
+        if (formula.removed || dependents.contains(formula.cell)) return true;
+        if (!formula.isInPlace(workbook)) return false;
+        dependents.add(formula.cell);
+        pending.add(new int[]{formula.sheetIndex, formula.row, formula.row, formula.column, formula.column});
+        return true;
+    }
+
+    private Ptg[] parse(String text, int sheetIndex, int rowIndex) {
+        try {
+            return FormulaParser.parse(text, parsingWorkbook, FormulaType.CELL, sheetIndex, rowIndex);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indexes the references of the tokens as precedents of the formula.
+     *
+     * @return false if a token depends on cells the index can not follow
+     */
+    private boolean collect(Formula formula, Ptg[] tokens, int depth) {
+        if (tokens == null) return false;
+        for (var token : tokens) {
+            var followed = switch (token) {
+                case AbstractFunctionPtg function -> !function.isExternalFunction() && !VOLATILE_FUNCTIONS.contains(function.getName());
+                case NamePtg namePtg -> collectName(formula, namePtg, depth);
+                case NameXPtg ignored -> false;
+                case NameXPxg ignored -> false;
+                case RefPtgBase ref -> collectArea(formula, token, ref.getRow(), ref.getRow(), ref.getColumn(), ref.getColumn());
+                case AreaPtgBase area -> collectArea(formula, token, area.getFirstRow(), area.getLastRow(), area.getFirstColumn(), area.getLastColumn());
+                default -> true;
+            };
+            if (!followed) return false;
+        }
+        return true;
+    }
+
+    private boolean collectName(Formula formula, NamePtg namePtg, int depth) {
+        if (depth >= MAX_NAME_DEPTH) return false;
+        var name = evaluationWorkbook.getName(namePtg);
+        if (name == null || name.isFunctionName()) return name != null;
+        return name.hasFormula() && collect(formula, name.getNameDefinition(), depth + 1);
+    }
+
+    private boolean collectArea(Formula formula, Ptg token, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        int firstSheet, lastSheet;
+        switch (token) {
+            case Pxg3D pxg -> {
+                if (pxg.getExternalWorkbookNumber() > 0) return false;
+                firstSheet = workbook.getSheetIndex(pxg.getSheetName());
+                lastSheet = pxg.getLastSheetName() != null ? workbook.getSheetIndex(pxg.getLastSheetName()) : firstSheet;
+            }
+            case ExternSheetReferenceToken externSheet -> {
+                var sheet = evaluationWorkbook.getExternalSheet(externSheet.getExternSheetIndex());
+                if (sheet == null || sheet.getWorkbookName() != null) return false;
+                firstSheet = workbook.getSheetIndex(sheet.getSheetName());
+                lastSheet = sheet instanceof EvaluationWorkbook.ExternalSheetRange range ? workbook.getSheetIndex(range.getLastSheetName()) : firstSheet;
+            }
+            default -> firstSheet = lastSheet = formula.sheetIndex;
+        }
+        if (firstSheet < 0 || lastSheet < 0) return false;
+
+        for (int sheetIndex = Math.min(firstSheet, lastSheet); sheetIndex <= Math.max(firstSheet, lastSheet); sheetIndex++) {
+            var precedent = new Precedent(formula, firstRow, lastRow, firstColumn, lastColumn);
+            var precedents = sheets.computeIfAbsent(sheetIndex, key -> new SheetPrecedents());
+            if (lastRow - firstRow >= MAX_INDEXED_ROWS) {
+                precedents.wide.add(precedent);
+                continue;
+            }
+            for (int rowIndex = firstRow; rowIndex <= lastRow; rowIndex++) {
+                precedents.rows.computeIfAbsent(rowIndex, key -> new ArrayList<>()).add(precedent);
+            }
+        }
+        return true;
+    }
+
+    private static final class Formula {
+        private final Cell cell;
+        private final String text;
+        private final int sheetIndex;
+        private final int row;
+        private final int column;
+        private boolean removed;
+
+        private Formula(Cell cell, String text, int sheetIndex, int row, int column) {
+            this.cell = cell;
+            this.text = text;
+            this.sheetIndex = sheetIndex;
+            this.row = row;
+            this.column = column;
+        }
+
+        /**
+         * Whether the cell is still a formula of the workbook at the place it was added at.
+         */
+        private boolean isInPlace(Workbook workbook) {
+            if (sheetIndex >= workbook.getNumberOfSheets() || workbook.getSheetAt(sheetIndex) != cell.getSheet()) return false;
+            var current = cell.getSheet().getRow(row);
+            return current == cell.getRow() && current.getCell(column) == cell && cell.getCellType() == CellType.FORMULA;
+        }
+    }
+
+    private record Precedent(Formula formula, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+
+        private boolean intersects(int[] area) {
+            return firstRow <= area[2] && area[1] <= lastRow && firstColumn <= area[4] && area[3] <= lastColumn;
+        }
+    }
+
+    private static final class SheetPrecedents {
+        private final Map<Integer, List<Precedent>> rows = new HashMap<>();
+        private final List<Precedent> wide = new ArrayList<>();
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.exceptions.NotFoundSheetWorkbookException;
+import io.github.luidmidev.apache.poi.model.CellData;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the rows of a sheet of an XLS file with the HSSF event model. Records are pulled one at a time from the workbook
+ * stream and pushed through the record listeners until a row is complete, so only the shared strings table and the
+ * current row are kept in memory.
+ */
+final class HSSFSheetRowSource implements SheetRowSource, HSSFListener {
+
+    private final POIFSFileSystem fileSystem;
+    private final InputStream workbookStream;
+    private final RecordFactoryInputStream records;
+    private final HSSFListener listener;
+    private final FormatTrackingHSSFListener formatListener;
+    private final DataFormatter formatter;
+    private final String sheetName;
+    private final int sheetIndex;
+
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+    private BoundSheetRecord[] boundSheetsByPosition;
+    private SSTRecord sharedStrings;
+    private boolean date1904;
+
+    private int depth;
+    private int substreamIndex = -1;
+    private boolean selected;
+    private boolean found;
+    private boolean finished;
+
+    private final List<CellData> cells = new ArrayList<>();
+    private int pendingRowIndex = -1;
+    private SheetRow next;
+    private FormulaRecord pendingStringFormula;
+
+    /**
+     * Opens the sheet of the file, selected by name or, when the name is null, by index.
+     */
+    HSSFSheetRowSource(File file, String sheetName, int sheetIndex, DataFormatter formatter) throws IOException, NotFoundSheetWorkbookException {
+        this.fileSystem = new POIFSFileSystem(file, true);
+        this.formatter = formatter;
+        this.sheetName = sheetName;
+        this.sheetIndex = sheetIndex;
+        this.formatListener = new FormatTrackingHSSFListener(this);
+        this.listener = new MissingRecordAwareHSSFListener(formatListener);
+        try {
+            var root = fileSystem.getRoot();
+            this.workbookStream = root.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(root));
+            this.records = new RecordFactoryInputStream(workbookStream, false);
+            if (!hasNext() && !found) {
+                throw sheetName == null ? new NotFoundSheetWorkbookException(sheetIndex) : new NotFoundSheetWorkbookException(sheetName);
+            }
+        } catch (IOException | NotFoundSheetWorkbookException | RuntimeException e) {
+            fileSystem.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            var record = records.nextRecord();
+            if (record == null) {
+                finished = true;
+                completeRow();
+            } else {
+                listener.processRecord(record);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public SheetRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        var row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void processRecord(org.apache.poi.hssf.record.Record record) {
+        switch (record) {
+            case BOFRecord bof -> startSubstream(bof);
+            case EOFRecord ignored -> endSubstream();
+            case BoundSheetRecord boundSheet -> boundSheets.add(boundSheet);
+            case SSTRecord sst -> sharedStrings = sst;
+            case DateWindow1904Record window -> date1904 = window.getWindowing() == 1;
+            default -> {
+                if (selected && depth == 1) processSheetRecord(record);
+            }
+        }
+    }
+
+    private void startSubstream(BOFRecord bof) {
+        depth++;
+        if (depth != 1 || bof.getType() == BOFRecord.TYPE_WORKBOOK) return;
+
+        if (boundSheetsByPosition == null) boundSheetsByPosition = BoundSheetRecord.orderByBofPosition(boundSheets);
+        substreamIndex++;
+        if (substreamIndex >= boundSheetsByPosition.length) return;
+
+        var boundSheet = boundSheetsByPosition[substreamIndex];
+        selected = sheetName == null ? boundSheets.indexOf(boundSheet) == sheetIndex : sheetName.equals(boundSheet.getSheetname());
+        found |= selected;
+    }
+
+    private void endSubstream() {
+        depth--;
+        if (depth == 0 && selected) {
+            completeRow();
+            selected = false;
+            finished = true;
+        }
+    }
+
+    private void processSheetRecord(org.apache.poi.hssf.record.Record record) {
+        switch (record) {
+            case NumberRecord number -> addCell(number.getRow(), CellData.ofNumber(number.getRow(), number.getColumn(), number.getValue(),
+                    formatListener.getFormatIndex(number), formatListener.getFormatString(number), date1904, formatter));
+            case LabelSSTRecord label -> addCell(label.getRow(), CellData.ofString(label.getRow(), label.getColumn(),
+                    sharedStrings.getString(label.getSSTIndex()).getString()));
+            case LabelRecord label -> addCell(label.getRow(), CellData.ofString(label.getRow(), label.getColumn(), label.getValue()));
+            case BoolErrRecord boolErr -> addCell(boolErr.getRow(), boolErr.isBoolean()
+                    ? CellData.ofBoolean(boolErr.getRow(), boolErr.getColumn(), boolErr.getBooleanValue())
+                    : CellData.ofError(boolErr.getRow(), boolErr.getColumn(), FormulaError.forInt(boolErr.getErrorValue()).getString()));
+            case FormulaRecord formula -> processFormula(formula);
+            case StringRecord string -> {
+                if (pendingStringFormula != null) {
+                    addCell(pendingStringFormula.getRow(), CellData.ofString(pendingStringFormula.getRow(), pendingStringFormula.getColumn(), string.getString()));
+                    pendingStringFormula = null;
+                }
+            }
+            case LastCellOfRowDummyRecord lastCell -> {
+                if (lastCell.getRow() == pendingRowIndex) completeRow();
+            }
+            default -> {
+                // Do nothing
+            }
+        }
+    }
+
+    /**
+     * Adds the cached result of a formula, string results are carried by the string record that follows it.
+     */
+    private void processFormula(FormulaRecord formula) {
+        var row = formula.getRow();
+        var column = formula.getColumn();
+        switch (formula.getCachedResultTypeEnum()) {
+            case STRING -> {
+                if (formula.hasCachedResultString()) pendingStringFormula = formula;
+                else addCell(row, CellData.ofString(row, column, ""));
+            }
+            case BOOLEAN -> addCell(row, CellData.ofBoolean(row, column, formula.getCachedBooleanValue()));
+            case ERROR -> addCell(row, CellData.ofError(row, column, FormulaError.forInt(formula.getCachedErrorValue()).getString()));
+            case NUMERIC -> addCell(row, CellData.ofNumber(row, column, formula.getValue(),
+                    formatListener.getFormatIndex(formula), formatListener.getFormatString(formula), date1904, formatter));
+            default -> {
+                // Do nothing
+            }
+        }
+    }
+
+    private void addCell(int rowIndex, CellData cell) {
+        if (rowIndex != pendingRowIndex) {
+            completeRow();
+            pendingRowIndex = rowIndex;
+        }
+        cells.add(cell);
+    }
+
+    private void completeRow() {
+        if (pendingRowIndex < 0) return;
+        if (next != null) throw new IllegalStateException("Row " + next.rowIndex() + " was not consumed");
+        next = new SheetRow(pendingRowIndex, List.copyOf(cells));
+        cells.clear();
+        pendingRowIndex = -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbookStream.close();
+        } finally {
+            fileSystem.close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.luidmidev.apache.poi;
+
+import java.util.Iterator;
+
+/**
+ * A {@link DataCursor} over an iterator, optionally closing the resource the iterator was obtained from.
+ */
+final class IteratorDataCursor<T> implements DataCursor<T> {
+
+    private final Iterator<T> iterator;
+    private final int knownSize;
+    private final AutoCloseable resource;
+
+    IteratorDataCursor(Iterator<T> iterator, int knownSize, AutoCloseable resource) {
+        this.iterator = iterator;
+        this.knownSize = knownSize;
+        this.resource = resource;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+        return iterator.next();
+    }
+
+    @Override
+    public int knownSize() {
+        return knownSize;
+    }
+
+    @Override
+    public void close() {
+        if (resource == null) return;
+        try {
+            resource.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to close the data source", e);
+        }
+    }
+}
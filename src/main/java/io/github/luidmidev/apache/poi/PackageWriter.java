@@ -0,0 +1,177 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.model.WriteOptions;
+import org.apache.poi.ooxml.POIXMLDocument;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes the package of an XLSX workbook with the compression of the {@link WriteOptions}.
+ */
+final class PackageWriter {
+
+    /**
+     * The modification time of the repacked entries, the DOS epoch, so the archive only depends on its content.
+     */
+    private static final long ENTRY_TIME = 315532800000L;
+
+    /**
+     * The maximum number of entries being compressed in parallel, or compressed and waiting for a previous entry.
+     */
+    private static final int MAX_PENDING_ENTRIES = 2 * Runtime.getRuntime().availableProcessors();
+
+    private PackageWriter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Options writing the entries deflated without compression, fast to write and to read back.
+     */
+    static final WriteOptions UNCOMPRESSED = WriteOptions.DEFAULT.withCompressionLevel(Deflater.NO_COMPRESSION);
+
+    /**
+     * Writes the package of the document with the options.
+     *
+     * @param document     the document
+     * @param outputStream the output stream, not closed
+     * @param options      the options
+     * @throws IOException if an I/O error occurs
+     */
+    static void write(POIXMLDocument document, OutputStream outputStream, WriteOptions options) throws IOException {
+        if (options.isRepacked()) {
+            var bos = new WorkbookManager.ExposedByteArrayOutputStream();
+            write(document, bos, UNCOMPRESSED);
+            repack(bos.toInputStream(), outputStream, options);
+            return;
+        }
+        // POI writes the package to the archive stream it is given, and only finishes it
+        try (var zipOutputStream = archiveOutputStream(new NonClosingOutputStream(outputStream), options)) {
+            document.write(zipOutputStream);
+        }
+    }
+
+    /**
+     * Creates an archive stream with the compression level and zip64 mode of the options.
+     */
+    static ZipArchiveOutputStream archiveOutputStream(OutputStream outputStream, WriteOptions options) {
+        var zipOutputStream = new ZipArchiveOutputStream(outputStream);
+        zipOutputStream.setLevel(options.compressionLevel());
+        zipOutputStream.setUseZip64(options.zip64Mode());
+        return zipOutputStream;
+    }
+
+    /**
+     * Rewrites an uncompressed package, compressing each entry on its own, in parallel when the options have an
+     * executor, and writing them in their original order. Entries are written as soon as they and the previous ones are
+     * compressed, so only a bounded number of them is held in memory besides the package.
+     *
+     * @param uncompressed the package, its entries deflated without compression
+     * @param outputStream the output stream, not closed
+     * @param options      the options
+     * @throws IOException if an I/O error occurs
+     */
+    static void repack(InputStream uncompressed, OutputStream outputStream, WriteOptions options) throws IOException {
+        var pending = new ArrayDeque<CompletableFuture<RawEntry>>();
+        try (var zipInputStream = new ZipArchiveInputStream(uncompressed);
+             var zipOutputStream = archiveOutputStream(new NonClosingOutputStream(outputStream), options)) {
+            ZipArchiveEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                var name = entry.getName();
+                var content = zipInputStream.readAllBytes();
+                if (options.deflateExecutor() == null) {
+                    addEntry(zipOutputStream, compress(name, content, options));
+                    continue;
+                }
+                pending.add(CompletableFuture.supplyAsync(() -> compress(name, content, options), options.deflateExecutor()));
+                while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > MAX_PENDING_ENTRIES)) {
+                    addEntry(zipOutputStream, await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) addEntry(zipOutputStream, await(pending.poll()));
+        }
+    }
+
+    private static void addEntry(ZipArchiveOutputStream zipOutputStream, RawEntry entry) throws IOException {
+        zipOutputStream.addRawArchiveEntry(entry.entry, new ByteArrayInputStream(entry.content));
+    }
+
+    /**
+     * Waits for the compression of an entry, rethrowing its failure as an I/O error.
+     */
+    private static RawEntry await(CompletableFuture<RawEntry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw new IOException("Unable to compress an entry of the package", e.getCause());
+        }
+    }
+
+    private static RawEntry compress(String name, byte[] content, WriteOptions options) {
+        var crc = new CRC32();
+        crc.update(content);
+
+        var entry = new ZipArchiveEntry(name);
+        entry.setTime(ENTRY_TIME);
+        entry.setSize(content.length);
+        entry.setCrc(crc.getValue());
+        if (options.stored()) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setCompressedSize(content.length);
+            return new RawEntry(entry, content);
+        }
+
+        var deflater = new Deflater(options.compressionLevel(), true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            var compressed = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+            var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setCompressedSize(compressed.size());
+            return new RawEntry(entry, compressed.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private record RawEntry(ZipArchiveEntry entry, byte[] content) {
+    }
+
+    /**
+     * Lets the archive stream be closed, releasing its deflater, without closing the output stream.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
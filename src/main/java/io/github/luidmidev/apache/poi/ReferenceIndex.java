@@ -0,0 +1,134 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.exceptions.*;
+import io.github.luidmidev.apache.poi.model.CellArea;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.AreaReference;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves references, defined names or A1 references such as "Sheet1!B2:C4", to their sheet and coordinates once,
+ * so later lookups of the same reference do not parse it again nor allocate intermediate references.
+ * <p>
+ * A lookup only checks that the sheet of a resolved reference is still in the workbook under the same name, resolving
+ * it again otherwise. Names are not looked up again, so {@link #invalidate()} must be called after a name is added,
+ * removed or redefined; it is called when the formula tracking of the manager is reset after a structural change such
+ * as shifting rows. The least recently used references are discarded beyond {@value #MAX_REFERENCES}.
+ */
+public class ReferenceIndex {
+
+    /**
+     * The maximum number of resolved references kept.
+     */
+    public static final int MAX_REFERENCES = 1024;
+
+    private final Workbook workbook;
+    private final Map<String, Resolved> references = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Resolved> eldest) {
+            return size() > MAX_REFERENCES;
+        }
+    };
+
+    ReferenceIndex(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Resolves the reference to its coordinates.
+     *
+     * @param reference the defined name or the A1 reference
+     * @return the coordinates of the reference
+     * @throws NotFoundSheetWorkbookException if the sheet of the reference does not exist
+     */
+    public CellArea resolve(String reference) throws NotFoundSheetWorkbookException {
+        return lookup(reference).area;
+    }
+
+    /**
+     * Gets the single cell of the reference.
+     *
+     * @param reference the defined name or the A1 reference
+     * @return the cell
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
+     * @throws NotFoundRowWorkbookException   if the row does not exist
+     * @throws NotFoundCellWorkbookException  if the cell does not exist
+     * @throws MultipleCellsWorkbookException if the reference has multiple cells
+     */
+    public Cell getCell(String reference) throws NotFoundSheetWorkbookException, NotFoundRowWorkbookException, NotFoundCellWorkbookException, MultipleCellsWorkbookException {
+        var resolved = lookup(reference);
+        if (!resolved.area.isSingleCell()) throw new MultipleCellsWorkbookException(reference);
+        return WorkbookManagerUtils.getCell(resolved.area.firstRow(), resolved.area.firstColumn(), resolved.sheet);
+    }
+
+    /**
+     * Gets the cells of the reference, row by row.
+     *
+     * @param reference the defined name or the A1 reference
+     * @return the cells
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
+     * @throws NotFoundRowWorkbookException   if a row does not exist
+     * @throws NotFoundCellWorkbookException  if a cell does not exist
+     */
+    public Cell[] getCells(String reference) throws NotFoundSheetWorkbookException, NotFoundRowWorkbookException, NotFoundCellWorkbookException {
+        var resolved = lookup(reference);
+        var area = resolved.area;
+        var cells = new Cell[area.size()];
+        var i = 0;
+        for (int rowIndex = area.firstRow(); rowIndex <= area.lastRow(); rowIndex++) {
+            for (int columnIndex = area.firstColumn(); columnIndex <= area.lastColumn(); columnIndex++) {
+                cells[i++] = WorkbookManagerUtils.getCell(rowIndex, columnIndex, resolved.sheet);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Discards the resolved references, to be called after the names of the workbook change.
+     */
+    public void invalidate() {
+        references.clear();
+    }
+
+    Resolved lookup(String reference) throws NotFoundSheetWorkbookException {
+        var resolved = references.get(reference);
+        if (resolved == null || !resolved.isCurrent(workbook)) {
+            resolved = compile(reference);
+            references.put(reference, resolved);
+        }
+        return resolved;
+    }
+
+    private Resolved compile(String reference) throws NotFoundSheetWorkbookException {
+        var name = workbook.getName(reference);
+        var formula = name != null ? name.getRefersToFormula() : reference;
+        var areaReference = new AreaReference(formula, workbook.getSpreadsheetVersion());
+        var first = areaReference.getFirstCell();
+        var last = areaReference.getLastCell();
+
+        var sheet = workbook.getSheet(first.getSheetName());
+        if (sheet == null) throw new NotFoundSheetWorkbookException(first.getSheetName());
+
+        var area = new CellArea(sheet.getSheetName(),
+                Math.min(first.getRow(), last.getRow()), Math.min(first.getCol(), last.getCol()),
+                Math.max(first.getRow(), last.getRow()), Math.max(first.getCol(), last.getCol()));
+        return new Resolved(sheet, area);
+    }
+
+    /**
+     * A reference resolved to its sheet and coordinates.
+     */
+    record Resolved(Sheet sheet, CellArea area) {
+
+        /**
+         * Whether the sheet is still in the workbook under the same name.
+         */
+        private boolean isCurrent(Workbook workbook) {
+            return workbook.getSheet(area.sheetName()) == sheet;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.functions.ReportSink;
+import io.github.luidmidev.apache.poi.model.ReportResult;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Generates reports concurrently, each on its own virtual thread, admitting them against a heap budget instead of a
+ * fixed number of threads. A report reserves its estimated heap before it starts and releases it once its file is
+ * written to the {@link ReportSink} and closed, so the files are never held by the executor nor the results; when the
+ * remaining budget can not hold a report in memory, it is generated with a streaming workbook if it can be, and
+ * otherwise waits for budget to be released. A report larger than the whole budget runs alone.
+ */
+@Log4j2
+public class ReportBatchExecutor implements AutoCloseable {
+
+    /**
+     * The unit of the budget, in bytes, so the budget fits the permits of a semaphore.
+     */
+    private static final long PERMIT_BYTES = 1024;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore budget;
+    private final int totalPermits;
+
+    /**
+     * Creates an executor with a heap budget.
+     *
+     * @param heapBudgetBytes the heap the reports being generated can take together
+     */
+    public ReportBatchExecutor(long heapBudgetBytes) {
+        var permits = heapBudgetBytes / PERMIT_BYTES;
+        if (permits < 1 || permits > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid heap budget: " + heapBudgetBytes);
+        this.totalPermits = (int) permits;
+        this.budget = new Semaphore(totalPermits, true);
+    }
+
+    /**
+     * Creates an executor whose budget is a fraction of the maximum heap of the JVM.
+     *
+     * @param fraction the fraction of the maximum heap, between 0 and 1
+     * @return the executor
+     */
+    public static ReportBatchExecutor ofHeapFraction(double fraction) {
+        if (fraction <= 0 || fraction > 1) throw new IllegalArgumentException("The fraction must be between 0 and 1: " + fraction);
+        return new ReportBatchExecutor((long) (Runtime.getRuntime().maxMemory() * fraction));
+    }
+
+    /**
+     * Submits a report written to the sink, the future completes with its result, also when it fails.
+     *
+     * @param job  the report
+     * @param sink the destination of the file
+     * @return the future result
+     */
+    public CompletableFuture<ReportResult> submit(ReportJob<?> job, ReportSink sink) {
+        var submitted = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> run(job, sink, submitted), executor);
+    }
+
+    /**
+     * Generates the reports, written to the sink, and waits for all of them.
+     *
+     * @param jobs the reports
+     * @param sink the destination of the files
+     * @return the results, in the order of the jobs
+     */
+    public List<ReportResult> invokeAll(Collection<? extends ReportJob<?>> jobs, ReportSink sink) {
+        var futures = new ArrayList<CompletableFuture<ReportResult>>(jobs.size());
+        for (var job : jobs) futures.add(submit(job, sink));
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Gets the heap budget not reserved by the reports being generated.
+     *
+     * @return the available budget in bytes
+     */
+    public long getAvailableBytes() {
+        return budget.availablePermits() * PERMIT_BYTES;
+    }
+
+    /**
+     * Waits for the submitted reports and stops the executor.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> ReportResult run(ReportJob<T> job, ReportSink sink, long submitted) {
+        var inMemoryPermits = permits(job.estimateInMemoryBytes());
+        var streaming = false;
+        int permits;
+        try {
+            if (!job.canStream()) {
+                permits = inMemoryPermits < 0 ? totalPermits : inMemoryPermits;
+                budget.acquire(permits);
+            } else if (inMemoryPermits >= 0 && budget.tryAcquire(inMemoryPermits)) {
+                permits = inMemoryPermits;
+            } else {
+                streaming = true;
+                permits = permits(job.estimateStreamingBytes());
+                budget.acquire(permits);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            try {
+                job.getData().close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            return failed(job, false, 0, submitted, null, e);
+        }
+
+        var started = System.nanoTime();
+        var estimatedBytes = permits * PERMIT_BYTES;
+        String filename = null;
+        try (var manager = streaming ? WorkbookManager.streaming() : new WorkbookManager(job.getType())) {
+            log.debug("Generating report {}, streaming: {}, estimated bytes: {}", job.getName(), streaming, estimatedBytes);
+            WorkbookListMapper.from(job.getData(), manager).map(job.getConfigurator());
+            var mapped = System.nanoTime();
+            filename = job.getName() + "." + manager.getType().getExtension();
+            long size;
+            try (var outputStream = new WorkbookManager.CountingOutputStream(sink.open(filename))) {
+                manager.writeTo(outputStream);
+                size = outputStream.getCount();
+            }
+            var written = System.nanoTime();
+            return new ReportResult(job.getName(), streaming, estimatedBytes, Duration.ofNanos(started - submitted),
+                    Duration.ofNanos(mapped - started), Duration.ofNanos(written - mapped), filename, size, null);
+        } catch (Exception e) {
+            log.warn("Report {} failed", job.getName(), e);
+            return failed(job, streaming, estimatedBytes, submitted, filename, e);
+        } finally {
+            budget.release(permits);
+        }
+    }
+
+    /**
+     * Converts an estimate to permits, a report larger than the budget takes the whole budget.
+     */
+    private int permits(long bytes) {
+        if (bytes < 0) return -1;
+        return (int) Math.min(totalPermits, Math.max(1, bytes / PERMIT_BYTES));
+    }
+
+    private static ReportResult failed(ReportJob<?> job, boolean streaming, long estimatedBytes, long submitted, String filename, Throwable error) {
+        return new ReportResult(job.getName(), streaming, estimatedBytes, Duration.ofNanos(System.nanoTime() - submitted),
+                Duration.ZERO, Duration.ZERO, filename, 0, error);
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.WorkbookListMapper.ListMapperConfigurator;
+import io.github.luidmidev.apache.poi.model.WorkbookType;
+import lombok.Getter;
+
+/**
+ * Represents a report generated by a {@link ReportBatchExecutor}: the models mapped with a configurator and written as a
+ * spreadsheet file. The heap taken by the report is estimated from its number of rows and columns and its workbook type.
+ *
+ * @param <T> the type of the models
+ */
+@Getter
+public class ReportJob<T> {
+
+    /**
+     * Estimated heap of a cell of an in-memory XLSX workbook.
+     */
+    static final long XLSX_CELL_BYTES = 800;
+
+    /**
+     * Estimated heap of a cell of an XLS workbook.
+     */
+    static final long XLS_CELL_BYTES = 120;
+
+    /**
+     * Estimated heap of a workbook without cells, with its styles, fonts and shared structures.
+     */
+    static final long WORKBOOK_BYTES = 2L * 1024 * 1024;
+
+    /**
+     * Estimated bytes of a cell in the written file, buffered while it is written, entirely for the XLS format.
+     */
+    static final long OUTPUT_CELL_BYTES = 16;
+
+    private final String name;
+    private final DataCursor<T> data;
+    private final int columns;
+    private final ListMapperConfigurator<T> configurator;
+    private WorkbookType type = WorkbookType.XLSX;
+    private int estimatedRows;
+    private boolean streamingAllowed = true;
+
+    private ReportJob(String name, DataCursor<T> data, int columns, ListMapperConfigurator<T> configurator) {
+        if (columns < 1) throw new IllegalArgumentException("A report needs at least one column");
+        this.name = name;
+        this.data = data;
+        this.columns = columns;
+        this.configurator = configurator;
+        this.estimatedRows = data.knownSize();
+    }
+
+    /**
+     * Creates a report of the models, the number of rows is known when they are a collection.
+     *
+     * @param name         the name of the file without extension
+     * @param models       the models
+     * @param columns      the number of columns declared by the configurator
+     * @param configurator the configurator of the mapping
+     * @return the report job
+     */
+    public static <T> ReportJob<T> of(String name, Iterable<T> models, int columns, ListMapperConfigurator<T> configurator) {
+        return new ReportJob<>(name, DataCursor.of(models), columns, configurator);
+    }
+
+    /**
+     * Creates a report of the models of a cursor, consumed once.
+     *
+     * @param name         the name of the file without extension
+     * @param models       the models
+     * @param columns      the number of columns declared by the configurator
+     * @param configurator the configurator of the mapping
+     * @return the report job
+     */
+    public static <T> ReportJob<T> of(String name, DataCursor<T> models, int columns, ListMapperConfigurator<T> configurator) {
+        return new ReportJob<>(name, models, columns, configurator);
+    }
+
+    /**
+     * Sets the type of the workbook, XLSX by default. XLS reports are never streamed.
+     *
+     * @param type the workbook type
+     * @return the current job
+     */
+    public ReportJob<T> type(WorkbookType type) {
+        this.type = type;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows used to estimate the heap of the report when the size of the models is unknown. A report
+     * without an estimate is streamed whenever it can be.
+     *
+     * @param estimatedRows the estimated number of rows
+     * @return the current job
+     */
+    public ReportJob<T> estimatedRows(int estimatedRows) {
+        this.estimatedRows = estimatedRows;
+        return this;
+    }
+
+    /**
+     * Forbids generating the report with a streaming workbook, for configurators that read rows back once written.
+     *
+     * @return the current job
+     */
+    public ReportJob<T> inMemoryOnly() {
+        this.streamingAllowed = false;
+        return this;
+    }
+
+    /**
+     * Whether the report can be generated with a streaming workbook.
+     */
+    boolean canStream() {
+        return streamingAllowed && type != WorkbookType.XLS;
+    }
+
+    /**
+     * Estimates the heap taken while the report is generated in memory, -1 when the number of rows is unknown.
+     */
+    long estimateInMemoryBytes() {
+        if (estimatedRows < 0) return -1;
+        var cellBytes = type == WorkbookType.XLS ? XLS_CELL_BYTES : XLSX_CELL_BYTES;
+        return WORKBOOK_BYTES + (long) estimatedRows * columns * (cellBytes + OUTPUT_CELL_BYTES);
+    }
+
+    /**
+     * Estimates the heap taken while the report is generated with a streaming workbook, which only keeps its row access
+     * window in memory, besides the written file.
+     */
+    long estimateStreamingBytes() {
+        var rows = Math.max(estimatedRows, 0);
+        return WORKBOOK_BYTES + (long) WorkbookManager.DEFAULT_ROW_ACCESS_WINDOW_SIZE * columns * XLSX_CELL_BYTES
+                + (long) rows * columns * OUTPUT_CELL_BYTES;
+    }
+}
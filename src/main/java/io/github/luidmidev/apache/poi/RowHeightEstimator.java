@@ -0,0 +1,60 @@
+package io.github.luidmidev.apache.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Arrays;
+
+/**
+ * Sets the height of rows from the number of lines of their string cells and the size of the cell fonts, measured as
+ * the cells are written. Like {@link WorkbookManagerUtils#adjustRowHeightByLines}, with the same line spacing, but the
+ * row fits its tallest cell counting the font size of each cell, and the row is not read back nor its values split.
+ */
+final class RowHeightEstimator {
+
+    private static final float LINE_SPACING = 1.2f;
+
+    private final Workbook workbook;
+    private float[] fontPointsByStyle = new float[16];
+    private float rowPoints;
+    private boolean multiline;
+
+    RowHeightEstimator(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Measures the value of a cell of the current row, once its value and style are set.
+     */
+    void measure(Cell cell) {
+        if (cell.getCellType() != CellType.STRING) return;
+        var lines = WorkbookManagerUtils.countLines(cell.getStringCellValue());
+        var points = lines * fontPoints(cell.getCellStyle());
+        if (points > rowPoints) rowPoints = points;
+        if (lines > 1) multiline = true;
+    }
+
+    /**
+     * Sets the height of the row when one of its cells has more than one line, single line rows keep the default
+     * height, and starts measuring the next row.
+     */
+    void apply(Row row) {
+        if (multiline) row.setHeightInPoints(rowPoints * LINE_SPACING);
+        rowPoints = 0;
+        multiline = false;
+    }
+
+    private float fontPoints(CellStyle style) {
+        var index = style.getIndex() & 0xFFFF;
+        if (index >= fontPointsByStyle.length) fontPointsByStyle = Arrays.copyOf(fontPointsByStyle, Math.max(index + 1, fontPointsByStyle.length * 2));
+        var points = fontPointsByStyle[index];
+        if (points == 0) {
+            points = workbook.getFontAt(style.getFontIndex()).getFontHeightInPoints();
+            fontPointsByStyle[index] = points;
+        }
+        return points;
+    }
+}
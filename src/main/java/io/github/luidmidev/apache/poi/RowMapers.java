@@ -51,4 +51,16 @@ public class RowMapers<T> implements Iterable<RowMapper<T>> {
     public void add(String column, RowMapper.Getter<T> getter, Consumer<Cell> action) {
         mappers.add(new RowMapper<>(column, getter, action));
     }
+
+    /**
+     * Adds a new RowMapper to this collection with a cell writer specialized for the type of the column.
+     *
+     * @param column The name of the column to associate with this RowMapper.
+     * @param getter A function to retrieve the boxed value, used when the values are computed ahead of writing.
+     * @param writer A function writing the value of an instance of T to the cell.
+     * @param action A CellWorkbookConsumer action to style or format the cell.
+     */
+    public void add(String column, RowMapper.Getter<T> getter, RowMapper.CellWriter<T> writer, Consumer<Cell> action) {
+        mappers.add(new RowMapper<>(column, getter, writer, action));
+    }
 }
\ No newline at end of file
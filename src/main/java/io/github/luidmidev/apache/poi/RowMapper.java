@@ -1,5 +1,6 @@
 package io.github.luidmidev.apache.poi;
 
+import io.github.luidmidev.apache.poi.exceptions.UnsuportedCellValueTypeWorkbookException;
 import org.apache.poi.ss.usermodel.Cell;
 
 import java.util.function.Consumer;
@@ -8,7 +9,14 @@ import java.util.function.Consumer;
  * Represents a row mapper that associates a cell value with a getter method of an object
  * and allows applying styling actions to the cell.
  */
-public record RowMapper<T>(String column, Getter<T> getter, Consumer<Cell> action) {
+public record RowMapper<T>(String column, Getter<T> getter, CellWriter<T> writer, Consumer<Cell> action) {
+
+    /**
+     * Creates a row mapper that writes the value of the getter by its runtime type.
+     */
+    public RowMapper(String column, Getter<T> getter, Consumer<Cell> action) {
+        this(column, getter, (cell, object, rowNum) -> WorkbookManagerUtils.setCellValue(cell, getter.get(object, rowNum)), action);
+    }
 
     /**
      * Retrieves the value of the specified object based on the getter function.
@@ -20,8 +28,26 @@ public record RowMapper<T>(String column, Getter<T> getter, Consumer<Cell> actio
         return getter.get(object, rowNum);
     }
 
+    /**
+     * Writes the value of the specified object to the cell with the cell writer, without boxing for typed columns.
+     * Each cell still costs an interface call to the writer of its column. Columns have different writers, so this call
+     * site is not monomorphic; typed columns only avoid the boxing and the switch on the runtime type of the value.
+     */
+    void write(Cell cell, T object, int rowNum) throws UnsuportedCellValueTypeWorkbookException {
+        writer.write(cell, object, rowNum);
+    }
+
     @FunctionalInterface
     public interface Getter<T> {
         Object get(T object, int rowNum);
     }
+
+    /**
+     * Writes the value of an object to a cell, resolved once for the column: typed columns write their value directly,
+     * the generic writer dispatches on the runtime type of the value for each cell.
+     */
+    @FunctionalInterface
+    public interface CellWriter<T> {
+        void write(Cell cell, T object, int rowNum) throws UnsuportedCellValueTypeWorkbookException;
+    }
 }
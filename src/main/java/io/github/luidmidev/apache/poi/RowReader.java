@@ -0,0 +1,26 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.model.CellData;
+
+/**
+ * Represents a row reader that associates a header column with a setter that writes the cell value into an object,
+ * the inverse of {@link RowMapper}.
+ */
+public record RowReader<T>(String column, Setter<T> setter) {
+
+    /**
+     * Writes the value of the cell into the specified object based on the setter function.
+     *
+     * @param object The object to write the value into.
+     * @param cell   The cell read for this column.
+     * @param rowNum The index of the row in the sheet.
+     */
+    void set(T object, CellData cell, int rowNum) {
+        setter.set(object, cell, rowNum);
+    }
+
+    @FunctionalInterface
+    public interface Setter<T> {
+        void set(T object, CellData cell, int rowNum);
+    }
+}
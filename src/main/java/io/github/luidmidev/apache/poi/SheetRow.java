@@ -0,0 +1,12 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.model.CellData;
+
+import java.util.List;
+
+/**
+ * Represents a row read by a {@link SheetRowSource}, holding only its non-empty cells in column order.
+ * The cells list may be reused by the source once the next row is requested.
+ */
+record SheetRow(int rowIndex, List<CellData> cells) {
+}
@@ -0,0 +1,10 @@
+package io.github.luidmidev.apache.poi;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Represents a forward only source of the rows of a single sheet, read without loading the workbook model.
+ */
+interface SheetRowSource extends Iterator<SheetRow>, Closeable {
+}
@@ -0,0 +1,301 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.functions.TemplateSource;
+import lombok.extern.log4j.Log4j2;
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Caches templates by id or by the hash of their content and hands out a new {@link WorkbookManager} over the template
+ * on each request, so the template is read once instead of for each report. The least recently used templates are
+ * evicted when the cache holds more templates or bytes than its limits.
+ * <p>
+ * A parsed workbook can not be shared or cloned, so each manager is parsed from the cached content, which for XLSX is
+ * kept uncompressed to skip inflating it. To take the parsing out of the request, the cache can keep a number of
+ * managers of each template parsed ahead of time on an executor, replacing them as they are handed out.
+ */
+@Log4j2
+public class TemplateCache implements Closeable {
+
+    /**
+     * Default maximum number of bytes of the cached templates.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int maxTemplates;
+    private final long maxBytes;
+    private final int preparedManagers;
+    private final Executor executor;
+    private final LinkedHashMap<String, Template> templates = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache parsing each manager when it is requested.
+     *
+     * @param maxTemplates the maximum number of cached templates
+     * @param maxBytes     the maximum number of bytes of the cached templates
+     */
+    public TemplateCache(int maxTemplates, long maxBytes) {
+        this(maxTemplates, maxBytes, 0, null);
+    }
+
+    /**
+     * Creates a cache keeping managers of each template parsed ahead of time.
+     *
+     * @param maxTemplates     the maximum number of cached templates
+     * @param maxBytes         the maximum number of bytes of the cached templates, the prepared managers are not counted
+     * @param preparedManagers the number of managers of each template parsed ahead of time
+     * @param executor         the executor parsing the prepared managers
+     */
+    public TemplateCache(int maxTemplates, long maxBytes, int preparedManagers, Executor executor) {
+        if (maxTemplates < 1 || maxBytes < 1) throw new IllegalArgumentException("The limits of the cache must be positive");
+        if (preparedManagers < 0) throw new IllegalArgumentException("The number of prepared managers can not be negative");
+        if (preparedManagers > 0 && executor == null) throw new IllegalArgumentException("An executor is required to prepare managers");
+        this.maxTemplates = maxTemplates;
+        this.maxBytes = maxBytes;
+        this.preparedManagers = preparedManagers;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets a new manager over the template with the id, reading it from the source only if it is not cached.
+     *
+     * @param id     the id of the template
+     * @param source the source of the template
+     * @return a new manager, to be closed by the caller
+     * @throws IOException if an I/O error occurs
+     */
+    public WorkbookManager get(String id, TemplateSource source) throws IOException {
+        var template = lookup(id);
+        if (template == null) {
+            byte[] content;
+            try (var inputStream = source.open()) {
+                content = inputStream.readAllBytes();
+            }
+            template = store(id, content);
+        }
+        return template.newManager();
+    }
+
+    /**
+     * Gets a new manager over the template with the content, cached by the hash of the content.
+     *
+     * @param content the content of the template
+     * @return a new manager, to be closed by the caller
+     * @throws IOException if an I/O error occurs
+     */
+    public WorkbookManager get(byte[] content) throws IOException {
+        var id = "sha-256:" + HexFormat.of().formatHex(sha256().digest(content));
+        var template = lookup(id);
+        if (template == null) template = store(id, content);
+        return template.newManager();
+    }
+
+    /**
+     * Removes the template with the id, the managers already handed out are not affected.
+     *
+     * @param id the id of the template
+     */
+    public void invalidate(String id) {
+        Template template;
+        synchronized (this) {
+            template = templates.remove(id);
+            if (template != null) bytes -= template.content.length;
+        }
+        if (template != null) template.discard();
+    }
+
+    /**
+     * Gets the statistics of the cache.
+     *
+     * @return the statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, templates.size(), bytes);
+    }
+
+    /**
+     * Removes every template and closes the prepared managers.
+     */
+    @Override
+    public void close() {
+        List<Template> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(templates.values());
+            templates.clear();
+            bytes = 0;
+        }
+        removed.forEach(Template::discard);
+    }
+
+    private synchronized Template lookup(String id) {
+        var template = templates.get(id);
+        if (template != null) hits++;
+        return template;
+    }
+
+    /**
+     * Caches the template, unless another thread did it while it was read, and evicts the least recently used ones.
+     */
+    private Template store(String id, byte[] content) throws IOException {
+        var packed = pack(content);
+        var evicted = new ArrayList<Template>();
+        Template template;
+        synchronized (this) {
+            template = templates.get(id);
+            if (template != null) {
+                hits++;
+                return template;
+            }
+            misses++;
+            template = new Template(packed);
+            templates.put(id, template);
+            bytes += packed.length;
+
+            var iterator = templates.values().iterator();
+            while ((templates.size() > maxTemplates || bytes > maxBytes) && iterator.hasNext()) {
+                var eldest = iterator.next();
+                iterator.remove();
+                bytes -= eldest.content.length;
+                evictions++;
+                evicted.add(eldest);
+            }
+        }
+        evicted.forEach(Template::discard);
+        log.debug("Cached template {} of {} bytes, {} evicted", id, packed.length, evicted.size());
+        return template;
+    }
+
+    /**
+     * Rewrites the package of an XLSX template without compression, other formats are kept as they are.
+     */
+    private static byte[] pack(byte[] content) throws IOException {
+        if (FileMagic.valueOf(content) != FileMagic.OOXML) return content;
+
+        var bos = new ByteArrayOutputStream((int) Math.min(content.length * 4L, MAX_ARRAY_LENGTH));
+        try (var zipInputStream = new ZipInputStream(new ByteArrayInputStream(content));
+             var zipOutputStream = new ZipOutputStream(bos)) {
+            zipOutputStream.setLevel(Deflater.NO_COMPRESSION);
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                zipInputStream.transferTo(zipOutputStream);
+                zipOutputStream.closeEntry();
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The statistics of a cache.
+     *
+     * @param hits      the number of requests served from the cache
+     * @param misses    the number of requests that read the template
+     * @param evictions the number of evicted templates
+     * @param templates the number of cached templates
+     * @param bytes     the number of bytes of the cached templates
+     */
+    public record Stats(long hits, long misses, long evictions, int templates, long bytes) {
+
+        /**
+         * Gets the ratio of requests served from the cache.
+         *
+         * @return the hit ratio, 0 when there were no requests
+         */
+        public double hitRatio() {
+            var requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * A cached template and its managers parsed ahead of time.
+     */
+    private final class Template {
+
+        private final byte[] content;
+        private final Queue<WorkbookManager> prepared = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger preparing = new AtomicInteger();
+        private volatile boolean discarded;
+
+        private Template(byte[] content) {
+            this.content = content;
+        }
+
+        private WorkbookManager newManager() throws IOException {
+            var manager = prepared.poll();
+            prepare();
+            return manager != null ? manager : new WorkbookManager(content);
+        }
+
+        /**
+         * Parses managers on the executor until the configured number is prepared. Parse failures are logged, the
+         * template is parsed again on the calling thread when it is requested.
+         */
+        private void prepare() {
+            while (!discarded && prepared.size() + preparing.get() < preparedManagers) {
+                preparing.incrementAndGet();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            prepared.add(new WorkbookManager(content));
+                            if (discarded) discard();
+                        } catch (IOException | RuntimeException e) {
+                            log.warn("Error preparing a manager of a cached template", e);
+                        } finally {
+                            preparing.decrementAndGet();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    preparing.decrementAndGet();
+                    log.debug("Executor rejected the preparation of a manager of a cached template", e);
+                    return;
+                }
+            }
+        }
+
+        private void discard() {
+            discarded = true;
+            WorkbookManager manager;
+            while ((manager = prepared.poll()) != null) {
+                try {
+                    manager.close();
+                } catch (IOException e) {
+                    log.warn("Error closing a prepared manager of an evicted template", e);
+                }
+            }
+        }
+    }
+}
@@ -2,20 +2,47 @@ package io.github.luidmidev.apache.poi;
 
 import io.github.luidmidev.apache.poi.exceptions.WorkbookException;
 import io.github.luidmidev.apache.poi.functions.Functionals;
+import io.github.luidmidev.apache.poi.functions.ProgressListener;
 import io.github.luidmidev.apache.poi.model.WorkbookType;
 import lombok.extern.log4j.Log4j2;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 
 /**
- * Maps a list of objects to a workbook with a given configuration
+ * Maps a list of objects to a workbook with a given configuration, the objects can also come from an iterator, a stream
+ * or a {@link DataCursor} of unknown size, which are consumed once in a single pass.
  * @param <T>
  */
 @Log4j2
@@ -24,35 +51,161 @@ public class WorkbookListMapper<T> {
     private final WorkbookManager workbookManager;
     private final ListMapperConfiguration<T> configuration;
 
-    public WorkbookListMapper(List<T> data) {
+    public WorkbookListMapper(Iterable<T> data) {
         this(data, WorkbookType.XLSX);
     }
 
-    public WorkbookListMapper(List<T> data, WorkbookType type) {
+    public WorkbookListMapper(Iterable<T> data, WorkbookType type) {
         this(data, new WorkbookManager(type), 0, 0);
     }
 
-    public WorkbookListMapper(List<T> data, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+    public WorkbookListMapper(Iterable<T> data, WorkbookManager existingWorkbook) {
+        this(data, existingWorkbook, 0, 0);
+    }
+
+    public WorkbookListMapper(Iterable<T> data, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+        this(DataCursor.of(data), existingWorkbook, startRow, startColumn);
+    }
+
+    public WorkbookListMapper(DataCursor<T> data, WorkbookManager existingWorkbook, int startRow, int startColumn) {
         this.workbookManager = existingWorkbook;
-        this.configuration = new ListMapperConfiguration<>(data, workbookManager.getWorkbook(), startRow, startColumn);
+        this.configuration = new ListMapperConfiguration<>(data, workbookManager, startRow, startColumn);
     }
 
+    /**
+     * Applies the configuration and writes the data, the data source is closed once it has been consumed.
+     */
     public WorkbookManager map(ListMapperConfigurator<T> configurator) throws WorkbookException {
+        try (var ignored = configuration.data) {
+            configurator.apply(workbookManager, this.configuration);
+            this.configuration.build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close the data source", e);
+        }
+        return workbookManager;
+    }
 
-        configurator.apply(workbookManager, this.configuration);
+    /**
+     * Applies the configuration and writes the data on the executor. Cancelling the future stops the mapping before the
+     * next row is written; the data source is closed, and the workbook manager too, releasing the temporary files of a
+     * streaming workbook. The manager is also closed when the mapping fails, as it is not handed to the caller.
+     *
+     * @param configurator the configurator
+     * @param executor     the executor writing the data
+     * @return the future manager
+     */
+    public CompletableFuture<WorkbookManager> mapAsync(ListMapperConfigurator<T> configurator, Executor executor) {
+        var future = new CompletableFuture<WorkbookManager>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                configuration.cancelled = true;
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        executor.execute(() -> {
+            try {
+                if (future.isDone()) {
+                    configuration.data.close();
+                } else if (future.complete(map(configurator))) {
+                    return;
+                }
+                closeManager(null);
+            } catch (Exception | Error e) {
+                closeManager(e);
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
 
-        this.configuration.build();
-        return workbookManager;
+    private void closeManager(Throwable failure) {
+        try {
+            workbookManager.close();
+        } catch (IOException e) {
+            if (failure != null) failure.addSuppressed(e);
+            else log.warn("Unable to close the workbook of a cancelled mapping", e);
+        }
     }
 
-    public static <T> WorkbookListMapper<T> from(List<T> models) {
+    public static <T> WorkbookListMapper<T> from(Iterable<T> models) {
         return new WorkbookListMapper<>(models);
     }
 
-    public static <T> WorkbookListMapper<T> from(List<T> models, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+    /**
+     * Maps the models into the given workbook manager, for example a streaming one created with {@link WorkbookManager#streaming()}.
+     */
+    public static <T> WorkbookListMapper<T> from(Iterable<T> models, WorkbookManager existingWorkbook) {
+        return new WorkbookListMapper<>(models, existingWorkbook);
+    }
+
+    public static <T> WorkbookListMapper<T> from(Iterable<T> models, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+        return new WorkbookListMapper<>(models, existingWorkbook, startRow, startColumn);
+    }
+
+    public static <T> WorkbookListMapper<T> from(Iterator<T> models) {
+        return from(DataCursor.of(models));
+    }
+
+    public static <T> WorkbookListMapper<T> from(Iterator<T> models, WorkbookManager existingWorkbook) {
+        return from(DataCursor.of(models), existingWorkbook);
+    }
+
+    public static <T> WorkbookListMapper<T> from(Iterator<T> models, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+        return from(DataCursor.of(models), existingWorkbook, startRow, startColumn);
+    }
+
+    public static <T> WorkbookListMapper<T> from(Stream<T> models) {
+        return from(DataCursor.of(models));
+    }
+
+    public static <T> WorkbookListMapper<T> from(Stream<T> models, WorkbookManager existingWorkbook) {
+        return from(DataCursor.of(models), existingWorkbook);
+    }
+
+    public static <T> WorkbookListMapper<T> from(Stream<T> models, WorkbookManager existingWorkbook, int startRow, int startColumn) {
+        return from(DataCursor.of(models), existingWorkbook, startRow, startColumn);
+    }
+
+    public static <T> WorkbookListMapper<T> from(DataCursor<T> models) {
+        return from(models, new WorkbookManager(WorkbookType.XLSX));
+    }
+
+    public static <T> WorkbookListMapper<T> from(DataCursor<T> models, WorkbookManager existingWorkbook) {
+        return from(models, existingWorkbook, 0, 0);
+    }
+
+    public static <T> WorkbookListMapper<T> from(DataCursor<T> models, WorkbookManager existingWorkbook, int startRow, int startColumn) {
         return new WorkbookListMapper<>(models, existingWorkbook, startRow, startColumn);
     }
 
+    /**
+     * Maps the records with one column per record component, see {@link ListMapperConfiguration#withColumnsOf(Class)}.
+     * More columns can still be added when mapping.
+     */
+    public static <T extends Record> WorkbookListMapper<T> fromRecords(Iterable<T> models, Class<T> type) {
+        return fromRecords(models, type, new WorkbookManager(WorkbookType.XLSX));
+    }
+
+    public static <T extends Record> WorkbookListMapper<T> fromRecords(Iterable<T> models, Class<T> type, WorkbookManager existingWorkbook) {
+        var mapper = from(models, existingWorkbook);
+        mapper.configuration.withColumnsOf(type);
+        return mapper;
+    }
+
+    /**
+     * Maps the beans with one column per field with a public getter, see {@link ListMapperConfiguration#withColumnsOf(Class)}.
+     * More columns can still be added when mapping.
+     */
+    public static <T> WorkbookListMapper<T> fromBeans(Iterable<T> models, Class<T> type) {
+        return fromBeans(models, type, new WorkbookManager(WorkbookType.XLSX));
+    }
+
+    public static <T> WorkbookListMapper<T> fromBeans(Iterable<T> models, Class<T> type, WorkbookManager existingWorkbook) {
+        var mapper = from(models, existingWorkbook);
+        mapper.configuration.withColumnsOf(type);
+        return mapper;
+    }
+
     @FunctionalInterface
     public interface ListMapperConfigurator<T> {
         void apply(WorkbookManager manager, ListMapperConfiguration<T> configuration) throws WorkbookException;
@@ -60,7 +213,13 @@ public class WorkbookListMapper<T> {
 
     public static class ListMapperConfiguration<T> {
 
-        private final List<T> data;
+        private static final int DEFAULT_PARALLEL_CHUNK_ROWS = 4096;
+        private static final int SHEET_CHUNK_ROWS = 1024;
+        private static final int DEFAULT_BUFFERED_CHUNKS_PER_PROCESSOR = 4;
+        private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+        private final DataCursor<T> data;
+        private final WorkbookManager manager;
         private final Workbook workbook;
         private final int startRow;
         private final int startColumn;
@@ -68,20 +227,43 @@ public class WorkbookListMapper<T> {
         private CellStyle headerStyle;
         private final RowMapers<T> rowMapers = new RowMapers<>();
         private Consumer<Sheet> sheetConsumer = Functionals.consumerNoAction();
-        private BiConsumer<Integer, Integer> onProgress = Functionals.biConsumerNoAction();
+        private ProgressListener progressListener = ProgressListener.NONE;
         private BiConsumer<Row, T> rowConsumer = Functionals.biConsumerNoAction();
+        private boolean trackColumnsForAutoSizing;
+        private double columnWidthMultiplier;
+        private int columnWidthSampleInterval;
+        private boolean autoRowHeight;
+        private Executor parallelExecutor;
+        private int parallelChunkRows;
+        private int rowsPerSheet;
+        private String sheetNamePattern;
+        private Executor sheetsExecutor;
+        private int maxBufferedRows;
+        private WorkbookMetricsListener metricsListener;
+        private long progressIntervalNanos;
+        private long lastProgressNanos;
+        private int written;
+        private int reported;
+        private volatile boolean cancelled;
+        private final LongAdder shiftingNanos = new LongAdder();
+        private final LongAdder shifts = new LongAdder();
+        private final LongAdder writingNanos = new LongAdder();
+        private long autosizingNanos;
 
-        private final Map<CellStylizer, CellStyle> computedStyles = new HashMap<>();
-
-        private ListMapperConfiguration(List<T> data, Workbook workbook, int startRow, int startColumn) {
+        private ListMapperConfiguration(DataCursor<T> data, WorkbookManager manager, int startRow, int startColumn) {
             this.data = data;
             this.startRow = startRow;
-            this.workbook = workbook;
+            this.manager = manager;
+            this.workbook = manager.getWorkbook();
             this.startColumn = startColumn;
+            this.metricsListener = manager.getMetricsListener();
         }
 
+        /**
+         * Gets the cell style of the stylizer from the style registry of the workbook, see {@link WorkbookManager#getStyleRegistry()}.
+         */
         public CellStyle computeStyle(CellStylizer stylizer) {
-            return computedStyles.computeIfAbsent(stylizer, key -> stylizer.build(workbook));
+            return manager.getStyleRegistry().getStyle(stylizer);
         }
 
         public ListMapperConfiguration<T> withColumn(String column, RowMapper.Getter<T> getter, Consumer<Cell> cellConfigurator) {
@@ -94,8 +276,7 @@ public class WorkbookListMapper<T> {
         }
 
         public ListMapperConfiguration<T> withColumn(String column, RowMapper.Getter<T> getter, CellStylizer stylizer) {
-            var style = computeStyle(stylizer);
-            return withColumn(column, getter, cell -> cell.setCellStyle(style));
+            return withColumn(column, getter, styleAction(stylizer));
         }
 
         public ListMapperConfiguration<T> withColumn(String column, Function<T, Object> getter, Consumer<Cell> cellConfigurator) {
@@ -107,8 +288,132 @@ public class WorkbookListMapper<T> {
         }
 
         public ListMapperConfiguration<T> withColumn(String column, Function<T, Object> getter, CellStylizer stylizer) {
+            return withColumn(column, getter, styleAction(stylizer));
+        }
+
+        /**
+         * Adds a column for each record component of a record type, or for each field with a public getter of a bean
+         * type, configured with {@link io.github.luidmidev.apache.poi.annotations.WorkbookColumn}. Primitive, string
+         * and date properties use the typed columns, dates get an ISO format unless one is given. The accessors are
+         * discovered and compiled once per type.
+         */
+        public ListMapperConfiguration<T> withColumnsOf(Class<T> type) {
+            ColumnPlan.of(type).applyTo(this);
+            return this;
+        }
+
+        /**
+         * Adds a numeric column written without boxing, the value is only boxed when computed in {@link #parallel()}.
+         */
+        public ListMapperConfiguration<T> withNumberColumn(String column, ToDoubleFunction<T> getter) {
+            return withNumberColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withNumberColumn(String column, ToDoubleFunction<T> getter, CellStylizer stylizer) {
+            return withNumberColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withNumberColumn(String column, ToDoubleFunction<T> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.applyAsDouble(model), (cell, model, rowNum) -> cell.setCellValue(getter.applyAsDouble(model)), cellConfigurator);
+            return this;
+        }
+
+        /**
+         * Adds an integer column written without boxing, the value is only boxed when computed in {@link #parallel()}.
+         */
+        public ListMapperConfiguration<T> withIntColumn(String column, ToIntFunction<T> getter) {
+            return withIntColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withIntColumn(String column, ToIntFunction<T> getter, CellStylizer stylizer) {
+            return withIntColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withIntColumn(String column, ToIntFunction<T> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.applyAsInt(model), (cell, model, rowNum) -> cell.setCellValue(getter.applyAsInt(model)), cellConfigurator);
+            return this;
+        }
+
+        /**
+         * Adds a boolean column written without boxing, the value is only boxed when computed in {@link #parallel()}.
+         */
+        public ListMapperConfiguration<T> withBooleanColumn(String column, Predicate<T> getter) {
+            return withBooleanColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withBooleanColumn(String column, Predicate<T> getter, CellStylizer stylizer) {
+            return withBooleanColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withBooleanColumn(String column, Predicate<T> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.test(model), (cell, model, rowNum) -> cell.setCellValue(getter.test(model)), cellConfigurator);
+            return this;
+        }
+
+        /**
+         * Adds a string column written without checking the type of the value, null values are written as empty strings.
+         */
+        public ListMapperConfiguration<T> withStringColumn(String column, Function<T, String> getter) {
+            return withStringColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withStringColumn(String column, Function<T, String> getter, CellStylizer stylizer) {
+            return withStringColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withStringColumn(String column, Function<T, String> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.apply(model), (cell, model, rowNum) -> {
+                var value = getter.apply(model);
+                cell.setCellValue(value == null ? "" : value);
+            }, cellConfigurator);
+            return this;
+        }
+
+        /**
+         * Adds a date column written without checking the type of the value, null values are written as empty strings.
+         * The cell only displays a date when its style has a date format.
+         */
+        public ListMapperConfiguration<T> withDateColumn(String column, Function<T, LocalDate> getter) {
+            return withDateColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withDateColumn(String column, Function<T, LocalDate> getter, CellStylizer stylizer) {
+            return withDateColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withDateColumn(String column, Function<T, LocalDate> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.apply(model), (cell, model, rowNum) -> {
+                var value = getter.apply(model);
+                if (value == null) cell.setCellValue("");
+                else cell.setCellValue(value);
+            }, cellConfigurator);
+            return this;
+        }
+
+        /**
+         * Adds a date time column written without checking the type of the value, null values are written as empty
+         * strings. The cell only displays a date when its style has a date format.
+         */
+        public ListMapperConfiguration<T> withDateTimeColumn(String column, Function<T, LocalDateTime> getter) {
+            return withDateTimeColumn(column, getter, Functionals.consumerNoAction());
+        }
+
+        public ListMapperConfiguration<T> withDateTimeColumn(String column, Function<T, LocalDateTime> getter, CellStylizer stylizer) {
+            return withDateTimeColumn(column, getter, styleAction(stylizer));
+        }
+
+        public ListMapperConfiguration<T> withDateTimeColumn(String column, Function<T, LocalDateTime> getter, Consumer<Cell> cellConfigurator) {
+            rowMapers.add(column, (model, rowNum) -> getter.apply(model), (cell, model, rowNum) -> {
+                var value = getter.apply(model);
+                if (value == null) cell.setCellValue("");
+                else cell.setCellValue(value);
+            }, cellConfigurator);
+            return this;
+        }
+
+        private Consumer<Cell> styleAction(CellStylizer stylizer) {
             var style = computeStyle(stylizer);
-            return withColumn(column, getter, cell -> cell.setCellStyle(style));
+            return cell -> cell.setCellStyle(style);
         }
 
         public ListMapperConfiguration<T> withHeaderStyle(CellStylizer stylizer) {
@@ -121,69 +426,613 @@ public class WorkbookListMapper<T> {
             return this;
         }
 
+        /**
+         * Sets the progress listener, called after each data row with the number of rows written and the total number of
+         * rows, or -1 as total when the size of the data source is unknown, see {@link #progressInterval(Duration)}.
+         */
+        public ListMapperConfiguration<T> withProgressListener(ProgressListener progressListener) {
+            this.progressListener = Objects.requireNonNull(progressListener);
+            return this;
+        }
+
+        /**
+         * Sets the progress listener, see {@link #withProgressListener(ProgressListener)}.
+         *
+         * @deprecated boxes both counts on each call, use {@link #withProgressListener(ProgressListener)}
+         */
+        @Deprecated
         public ListMapperConfiguration<T> onProgress(BiConsumer<Integer, Integer> onProgress) {
-            this.onProgress = onProgress;
+            return withProgressListener(onProgress::accept);
+        }
+
+        /**
+         * Calls the progress listener at most once per interval, and once more for the last row, instead of after each
+         * row, for listeners doing more than updating a counter, such as logging or notifying a client.
+         */
+        public ListMapperConfiguration<T> progressInterval(Duration interval) {
+            if (interval.isNegative()) throw new IllegalArgumentException("Progress interval must not be negative: " + interval);
+            this.progressIntervalNanos = interval.toNanos();
+            return this;
+        }
+
+        /**
+         * Sets the listener receiving the durations of the row shifting, cell writing and auto-sizing of the mapping,
+         * reported once all the rows are written, by default the listener of the workbook manager, see
+         * {@link WorkbookManager#setMetricsListener(WorkbookMetricsListener)}.
+         */
+        public ListMapperConfiguration<T> withMetricsListener(WorkbookMetricsListener metricsListener) {
+            this.metricsListener = Objects.requireNonNull(metricsListener);
             return this;
         }
 
+        /**
+         * Tracks the mapped columns for auto-sizing when the target is a streaming workbook, so that
+         * {@link CellStylizer#autoSizeColumns(Sheet, int, int, double)} keeps working from {@link #configureSheet(Consumer)}
+         * once the rows have been flushed out of the window. Has no effect on non-streaming workbooks.
+         */
+        public ListMapperConfiguration<T> trackColumnsForAutoSizing() {
+            this.trackColumnsForAutoSizing = true;
+            return this;
+        }
+
+        /**
+         * Sizes the mapped columns to fit their values, see {@link #autoSizeColumns(double, int)}.
+         */
+        public ListMapperConfiguration<T> autoSizeColumns(double widthMultiplier) {
+            return autoSizeColumns(widthMultiplier, 1);
+        }
+
+        /**
+         * Sizes the mapped columns to fit the header and the values, estimated from the displayed length of the values
+         * as they are written and the size of the cell font, and set once each sheet is complete. Much faster than
+         * {@link Sheet#autoSizeColumn(int)}, which measures every cell with the font metrics, and it does not need the rows
+         * of a streaming sheet to be kept in memory. Wide fonts and rich text may render wider than estimated.
+         *
+         * @param widthMultiplier the factor applied to the estimated widths
+         * @param sampleInterval  the interval of the measured rows, 1 measures every row, 10 every tenth row
+         */
+        public ListMapperConfiguration<T> autoSizeColumns(double widthMultiplier, int sampleInterval) {
+            if (widthMultiplier <= 0) throw new IllegalArgumentException("Width multiplier must be positive: " + widthMultiplier);
+            if (sampleInterval <= 0) throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+            this.columnWidthMultiplier = widthMultiplier;
+            this.columnWidthSampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * Sets the height of each data row with a multi-line value to fit its tallest cell, from the lines counted as the
+         * values are written and the font size of each cell, without reading the row back as
+         * {@link WorkbookManagerUtils#adjustRowHeightByLines} does. Applied before {@link #forEachRow(BiConsumer)}, which
+         * can still change it.
+         */
+        public ListMapperConfiguration<T> autoRowHeight() {
+            this.autoRowHeight = true;
+            return this;
+        }
+
+        /**
+         * Computes the column values of the rows in parallel on the common {@link ForkJoinPool}, see {@link #parallel(Executor, int)}.
+         */
+        public ListMapperConfiguration<T> parallel() {
+            return parallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_CHUNK_ROWS);
+        }
+
+        /**
+         * Computes the column values of chunks of rows in parallel on the executor, for example a virtual thread per task
+         * executor, while the calling thread writes the previous chunk to the sheet in order. Only the getters run on the
+         * executor, so they must be thread-safe; cell configurators, {@link #forEachRow(BiConsumer)} and
+         * {@link #withProgressListener(ProgressListener)} keep running on the calling thread, the only one touching the workbook.
+         * At most two chunks of values are held in memory.
+         *
+         * @param executor  the executor computing the values
+         * @param chunkRows the number of rows computed per chunk
+         */
+        public ListMapperConfiguration<T> parallel(Executor executor, int chunkRows) {
+            if (chunkRows <= 0) throw new IllegalArgumentException("Chunk rows must be positive: " + chunkRows);
+            this.parallelExecutor = executor;
+            this.parallelChunkRows = chunkRows;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of data rows per sheet, the following rows go into new sheets with the same header and
+         * header style. By default, and never beyond, a sheet is filled up to the row limit of the workbook type.
+         */
+        public ListMapperConfiguration<T> rowsPerSheet(int rowsPerSheet) {
+            if (rowsPerSheet <= 0) throw new IllegalArgumentException("Rows per sheet must be positive: " + rowsPerSheet);
+            this.rowsPerSheet = rowsPerSheet;
+            return this;
+        }
+
+        /**
+         * Names the sheets created for the data with a {@link String#format(String, Object...)} pattern receiving the
+         * sheet number starting at 1, for example "Persons %d". An existing first sheet keeps its name. By default the
+         * following sheets are named after the first one with the number in parentheses.
+         */
+        public ListMapperConfiguration<T> sheetNames(String sheetNamePattern) {
+            this.sheetNamePattern = sheetNamePattern;
+            return this;
+        }
+
+        /**
+         * Generates the sheets concurrently on the executor when the data does not fit in one sheet and the workbook is a
+         * streaming one, see {@link #concurrentSheets(Executor, int)}, buffering up to four chunks of 1024 rows per
+         * available processor.
+         */
+        public ListMapperConfiguration<T> concurrentSheets(Executor executor) {
+            return concurrentSheets(executor, -1);
+        }
+
+        /**
+         * Generates the sheets concurrently on the executor when the data does not fit in one sheet and the workbook is a
+         * streaming one, each sheet is filled by its own task while the calling thread keeps reading the data, and the
+         * sheets are only put together when the workbook is written. Non-streaming workbooks are written sequentially.
+         * Cell configurators and {@link #forEachRow(BiConsumer)} run on the tasks, so they must not create styles, use
+         * {@link #computeStyle(CellStylizer)} beforehand; {@link #withProgressListener(ProgressListener)} calls are serialized and
+         * {@link #configureSheet(Consumer)} runs on the calling thread for each sheet once all of them are written.
+         * <p>
+         * Models are handed to the sheets in chunks of 1024 rows. In the worst case the models held in memory are the
+         * buffered rows rounded up to whole chunks, plus the chunk being read and the chunk being written by each sheet.
+         *
+         * @param executor        the executor writing the sheets
+         * @param maxBufferedRows the maximum number of models read ahead of the sheets being written, -1 for four chunks
+         *                        per available processor
+         */
+        public ListMapperConfiguration<T> concurrentSheets(Executor executor, int maxBufferedRows) {
+            this.sheetsExecutor = executor;
+            this.maxBufferedRows = maxBufferedRows;
+            return this;
+        }
+
+        /**
+         * Writes the header and the data rows. Rows are created and filled strictly in ascending order, one at a time,
+         * so a streaming workbook can flush them as soon as they leave its row access window. The data source is consumed
+         * in a single pass, once a sheet holds the maximum number of rows the following ones go into a new sheet with
+         * the same header, see {@link #rowsPerSheet(int)}.
+         */
         private void build() throws WorkbookException {
 
-            var sheet = getFirstSheet(workbook);
+            final var start = System.nanoTime();
+            final var size = data.knownSize();
+            List<RowMapper<T>> mappers = rowMapers.getMappers();
+
+            var firstSheet = workbook.getNumberOfSheets() == 0 && sheetNamePattern != null
+                    ? workbook.createSheet(sheetName(null, 1))
+                    : getFirstSheet(workbook);
+            var partitions = new ArrayList<SheetPartition>();
+            partitions.add(new SheetPartition(firstSheet, size));
 
-            if (sheet.getLastRowNum() > startRow) {
-                sheet.shiftRows(startRow, sheet.getLastRowNum(), data.size());
+            if (sheetsExecutor != null && workbook instanceof SXSSFWorkbook) {
+                writeConcurrently(partitions, mappers, size);
+            } else {
+                if (sheetsExecutor != null) log.debug("Concurrent sheets are only generated on streaming workbooks, writing them sequentially");
+                var partition = partitions.getFirst();
+                while (true) {
+                    writeRows(partition, limit(data, partition.maxRows), mappers, size);
+                    if (!data.hasNext()) break;
+                    partition = newPartition(partitions);
+                }
             }
 
-            int rowCounter = startRow;
-            List<RowMapper<T>> mappers = rowMapers.getMappers();
+            for (var partition : partitions) {
+                partition.finish();
+                sheetConsumer.accept(partition.sheet);
+            }
+            if (reported != written) progressListener.onProgress(reported = written, size);
+            reportMetrics(partitions, System.nanoTime() - start);
+        }
 
-            createRows(sheet, rowCounter, rowCounter + data.size() + 1);
+        private void reportMetrics(List<SheetPartition> partitions, long nanos) {
+            if (metricsListener == WorkbookMetricsListener.NONE) return;
+            var columns = rowMapers.getMappers().size();
+            metricsListener.phaseCompleted(WorkbookMetricsListener.Phase.ROW_SHIFTING, shiftingNanos.sum(), shifts.sum());
+            metricsListener.phaseCompleted(WorkbookMetricsListener.Phase.CELL_WRITING, writingNanos.sum(), (long) written * columns);
+            if (columnWidthMultiplier > 0) {
+                metricsListener.phaseCompleted(WorkbookMetricsListener.Phase.AUTOSIZING, autosizingNanos, (long) partitions.size() * columns);
+            }
+            metricsListener.mappingCompleted(written, nanos);
+        }
+
+        /**
+         * Generates each sheet on the sheets executor while the calling thread keeps reading the data source and handing
+         * chunks of models to the sheet being filled, holding at most the configured number of buffered rows.
+         */
+        private void writeConcurrently(List<SheetPartition> partitions, List<RowMapper<T>> mappers, int size) throws WorkbookException {
 
-            var rowHeader = sheet.getRow(rowCounter);
-            var columns = rowMapers.getColumnNames();
+            var bufferedChunks = maxBufferedRows < 0
+                    ? DEFAULT_BUFFERED_CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors()
+                    : Math.max(1, (maxBufferedRows + SHEET_CHUNK_ROWS - 1) / SHEET_CHUNK_ROWS);
+            var buffered = new Semaphore(bufferedChunks);
+            var failed = new AtomicBoolean();
+            var writers = new ArrayList<CompletableFuture<Void>>();
+
+            var partition = partitions.getFirst();
+            try {
+                while (true) {
+                    var chunks = new LinkedBlockingQueue<List<T>>();
+                    writers.add(startWriter(partition, chunks, buffered, failed, mappers, size));
+                    try {
+                        var rows = 0;
+                        var maxRows = partition.maxRows;
+                        while (rows < maxRows && data.hasNext() && !failed.get()) {
+                            var chunk = new ArrayList<T>(Math.min(SHEET_CHUNK_ROWS, maxRows - rows));
+                            while (chunk.size() < SHEET_CHUNK_ROWS && rows < maxRows && data.hasNext()) {
+                                chunk.add(data.next());
+                                rows++;
+                            }
+                            buffered.acquireUninterruptibly();
+                            chunks.add(chunk);
+                        }
+                    } finally {
+                        chunks.add(List.of());
+                    }
+                    if (!data.hasNext() || failed.get()) break;
+                    partition = newPartition(partitions);
+                }
+            } finally {
+                awaitWriters(writers);
+            }
+        }
+
+        private CompletableFuture<Void> startWriter(SheetPartition partition, BlockingQueue<List<T>> chunks, Semaphore buffered, AtomicBoolean failed, List<RowMapper<T>> mappers, int size) {
+            var models = new ChunkIterator<>(chunks, buffered);
+            return CompletableFuture.runAsync(() -> {
+                var completed = false;
+                try {
+                    writeRows(partition, models, mappers, size);
+                    completed = true;
+                } catch (WorkbookException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    if (!completed) {
+                        failed.set(true);
+                        models.drain();
+                    }
+                }
+            }, sheetsExecutor);
+        }
+
+        private static void awaitWriters(List<CompletableFuture<Void>> writers) throws WorkbookException {
+            Throwable failure = null;
+            for (var writer : writers) {
+                try {
+                    writer.join();
+                } catch (CompletionException e) {
+                    if (failure == null) failure = e.getCause();
+                }
+            }
+            switch (failure) {
+                case null -> {
+                }
+                case WorkbookException e -> throw e;
+                case RuntimeException e -> throw e;
+                case Error e -> throw e;
+                default -> throw new CompletionException(failure);
+            }
+        }
+
+        /**
+         * Iterates the models handed to a sheet writer, releasing the buffer permit of each chunk once it is taken.
+         */
+        private static final class ChunkIterator<T> implements Iterator<T> {
+
+            private final BlockingQueue<List<T>> chunks;
+            private final Semaphore buffered;
+            private Iterator<T> current = Collections.emptyIterator();
+            private boolean finished;
+
+            private ChunkIterator(BlockingQueue<List<T>> chunks, Semaphore buffered) {
+                this.chunks = chunks;
+                this.buffered = buffered;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !finished) {
+                    var chunk = take();
+                    if (chunk.isEmpty()) finished = true;
+                    else buffered.release();
+                    current = chunk.iterator();
+                }
+                return current.hasNext();
+            }
 
-            for (int i = 0; i < columns.size(); i++) {
-                var cellHeader = rowHeader.createCell(i + startColumn);
-                cellHeader.setCellValue(columns.get(i));
-                if (headerStyle != null) cellHeader.setCellStyle(headerStyle);
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
             }
 
-            rowCounter++;
-            final var size = data.size();
-            for (int i = 0; i < size; i++) {
-                writeRow(sheet, rowCounter + i, mappers, data.get(i));
-                onProgress.accept(i + 1, size);
+            /**
+             * Discards the remaining chunks so the reading thread is never blocked by a failed writer.
+             */
+            private void drain() {
+                current = Collections.emptyIterator();
+                while (hasNext()) current = Collections.emptyIterator();
             }
 
-            sheetConsumer.accept(sheet);
+            private List<T> take() {
+                try {
+                    return chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the rows of the sheet", e);
+                }
+            }
+        }
+
+        private SheetPartition newPartition(List<SheetPartition> partitions) throws WorkbookException {
+            var name = sheetName(partitions.getFirst().sheet.getSheetName(), partitions.size() + 1);
+            var partition = new SheetPartition(workbook.createSheet(name), -1);
+            partitions.add(partition);
+            return partition;
+        }
+
+        private String sheetName(String firstSheetName, int number) {
+            if (sheetNamePattern != null) return String.format(sheetNamePattern, number);
+            var suffix = " (" + number + ")";
+            return firstSheetName.substring(0, Math.min(firstSheetName.length(), MAX_SHEET_NAME_LENGTH - suffix.length())) + suffix;
+        }
+
+        /**
+         * Gets the maximum number of data rows of a sheet, leaving room for the existing rows moved below the data.
+         */
+        private int maxRowsPerSheet(int movedRows) {
+            var available = Math.max(0, workbook.getSpreadsheetVersion().getMaxRows() - startRow - 1 - movedRows);
+            return rowsPerSheet > 0 ? Math.min(rowsPerSheet, available) : available;
         }
 
-        private void writeRow(Sheet sheet, int rowNum, List<RowMapper<T>> mappers, T model) throws WorkbookException {
-            var row = sheet.getRow(rowNum);
+        private static <T> Iterator<T> limit(Iterator<T> models, int rows) {
+            return new Iterator<>() {
+                private int remaining = rows;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0 && models.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    remaining--;
+                    return models.next();
+                }
+            };
+        }
+
+        /**
+         * Writes the data rows of a sheet, computing the values on the current thread or, when parallel, on the parallel
+         * executor.
+         */
+        private void writeRows(SheetPartition partition, Iterator<T> models, List<RowMapper<T>> mappers, int size) throws WorkbookException {
+            var start = System.nanoTime();
+            try {
+                if (parallelExecutor != null) {
+                    writeRowsInParallel(partition, models, mappers, size);
+                    return;
+                }
+                while (models.hasNext()) {
+                    writeRow(partition, mappers, models.next(), null);
+                    reportProgress(size);
+                }
+            } finally {
+                writingNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Writes the data rows of a sheet, computing the values of the next chunk on the parallel executor while the
+         * current one is written.
+         */
+        private void writeRowsInParallel(SheetPartition partition, Iterator<T> models, List<RowMapper<T>> mappers, int size) throws WorkbookException {
+            var pending = models.hasNext() ? computeChunk(models, mappers, partition.rowCounter + 1) : null;
+            while (pending != null) {
+                var chunk = pending;
+                pending = models.hasNext() ? computeChunk(models, mappers, chunk.firstRow() + chunk.models().size()) : null;
+
+                var values = awaitChunk(chunk);
+                for (int i = 0; i < chunk.models().size(); i++) {
+                    writeRow(partition, mappers, chunk.models().get(i), values[i]);
+                    reportProgress(size);
+                }
+            }
+        }
+
+        /**
+         * Counts the written row and calls the progress listener, unless it was called less than the progress interval ago.
+         */
+        private synchronized void reportProgress(int size) {
+            written++;
+            if (progressIntervalNanos > 0) {
+                var now = System.nanoTime();
+                if (reported > 0 && now - lastProgressNanos < progressIntervalNanos) return;
+                lastProgressNanos = now;
+            }
+            progressListener.onProgress(reported = written, size);
+        }
+
+        /**
+         * Reads the next chunk of models on the current thread and submits the computation of their values, split in one
+         * task per available processor.
+         */
+        private RowChunk<T> computeChunk(Iterator<T> source, List<RowMapper<T>> mappers, int firstRow) {
+            var models = new ArrayList<T>(parallelChunkRows);
+            while (models.size() < parallelChunkRows && source.hasNext()) models.add(source.next());
+
+            var values = new Object[models.size()][];
+            var tasks = Math.min(models.size(), Runtime.getRuntime().availableProcessors());
+            var rowsPerTask = (models.size() + tasks - 1) / tasks;
+            var futures = new CompletableFuture<?>[tasks];
+
+            for (int task = 0; task < tasks; task++) {
+                var from = task * rowsPerTask;
+                var to = Math.min(from + rowsPerTask, models.size());
+                futures[task] = CompletableFuture.runAsync(() -> {
+                    for (int i = from; i < to; i++) {
+                        var rowValues = new Object[mappers.size()];
+                        for (int j = 0; j < rowValues.length; j++) rowValues[j] = mappers.get(j).get(models.get(i), firstRow + i);
+                        values[i] = rowValues;
+                    }
+                }, parallelExecutor);
+            }
+            return new RowChunk<>(firstRow, models, values, CompletableFuture.allOf(futures));
+        }
+
+        private static Object[][] awaitChunk(RowChunk<?> chunk) {
+            try {
+                chunk.completion().join();
+                return chunk.values();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw e;
+            }
+        }
+
+        private record RowChunk<T>(int firstRow, List<T> models, Object[][] values, CompletableFuture<Void> completion) {
+        }
+
+        private void writeRow(SheetPartition partition, List<RowMapper<T>> mappers, T model, Object[] values) throws WorkbookException {
+            if (cancelled) throw new CancellationException("The mapping was cancelled");
+            var row = partition.nextRow();
+            var rowNum = row.getRowNum();
+            var widths = partition.widthsToMeasure();
+            var heights = partition.heights;
 
             for (var j = 0; j < mappers.size(); j++) {
                 RowMapper<T> mapper = mappers.get(j);
 
                 var cell = row.createCell(j + startColumn);
-                var value = mapper.get(model, rowNum);
-                WorkbookManagerUtils.setCellValue(cell, value);
+                if (values == null) mapper.write(cell, model, rowNum);
+                else WorkbookManagerUtils.setCellValue(cell, values[j]);
                 mapper.action().accept(cell);
+                if (widths != null) widths.measure(cell);
+                if (heights != null) heights.measure(cell);
             }
+            if (heights != null) heights.apply(row);
             rowConsumer.accept(row, model);
         }
 
-        private void createRows(Sheet sheet, int startRow, int endRow) {
-            for (int i = startRow; i < endRow; i++) createRow(sheet, i);
+        /**
+         * The rows of one sheet. The first sheet receives the data at the start row, moving the existing rows below it,
+         * for example the footer of a template, right after the data; the following sheets are new and only get the header.
+         */
+        private final class SheetPartition {
+
+            private final Sheet sheet;
+            private final boolean startRowExists;
+            private final ColumnWidthEstimator widths;
+            private final RowHeightEstimator heights;
+            private final int maxRows;
+            private int relocatedRowsStart = -1;
+            private int rowCounter = startRow;
+
+            /**
+             * Moves the existing rows below the start row, the footer of a template, out of the way of the data with a
+             * single shift: right after the data when the number of rows is known, otherwise to the end of the sheet, and
+             * back on {@link #finish()}. Shifting rows updates the formulas, merged regions and named ranges referring to
+             * them, so it is done once for the whole block instead of each time the data reaches an existing row. The
+             * moved rows are kept within the sheet, so they reduce the number of data rows it can hold.
+             *
+             * @param sheet the sheet
+             * @param size  the number of rows of the data, or -1 when unknown
+             * @throws WorkbookException if the header and the moved rows leave no room for data rows in the sheet
+             */
+            private SheetPartition(Sheet sheet, int size) throws WorkbookException {
+                this.sheet = sheet;
+                this.startRowExists = sheet.getRow(startRow) != null;
+                var firstMovedRow = startRowExists ? startRow : startRow + 1;
+                var lastMovedRow = sheet.getLastRowNum();
+                var movedRows = Math.max(0, lastMovedRow - firstMovedRow + 1);
+                this.maxRows = maxRowsPerSheet(movedRows);
+                if (maxRows <= 0 && size != 0 && data.hasNext()) {
+                    throw new WorkbookException("The header at row " + (startRow + 1) + " and the " + movedRows + " rows below it leave no room for data rows in the sheet " + sheet.getSheetName());
+                }
+                if (lastMovedRow >= firstMovedRow) {
+                    var knownRows = size < 0 ? -1 : Math.min(size, maxRows);
+                    var target = startRow + (knownRows < 0 ? maxRows : knownRows) + 1;
+                    if (target != firstMovedRow) shiftRows(sheet, firstMovedRow, lastMovedRow, target - firstMovedRow);
+                    if (knownRows < 0) relocatedRowsStart = target;
+                }
+
+                var columns = rowMapers.getColumnNames();
+                if (trackColumnsForAutoSizing && sheet instanceof SXSSFSheet sxssfSheet) {
+                    for (int i = 0; i < columns.size(); i++) sxssfSheet.trackColumnForAutoSizing(i + startColumn);
+                }
+
+                this.widths = columnWidthMultiplier > 0 ? new ColumnWidthEstimator(workbook, startColumn, columns.size()) : null;
+                this.heights = autoRowHeight ? new RowHeightEstimator(workbook) : null;
+
+                var rowHeader = createRow(sheet, rowCounter);
+                for (int i = 0; i < columns.size(); i++) {
+                    var cellHeader = rowHeader.createCell(i + startColumn);
+                    cellHeader.setCellValue(columns.get(i));
+                    if (headerStyle != null) cellHeader.setCellStyle(headerStyle);
+                    if (widths != null) widths.measure(cellHeader);
+                }
+            }
+
+            /**
+             * Gets the column width estimator when the current row is one of the sampled rows, null otherwise.
+             */
+            private ColumnWidthEstimator widthsToMeasure() {
+                return widths != null && (rowCounter - startRow - 1) % columnWidthSampleInterval == 0 ? widths : null;
+            }
+
+            /**
+             * Creates the next data row.
+             */
+            private Row nextRow() {
+                return createRow(sheet, ++rowCounter);
+            }
+
+            /**
+             * Moves the relocated rows back right after the last data row, the same final layout as with a known size,
+             * marks the written range for evaluation and sets the estimated column widths.
+             */
+            private void finish() {
+                if (relocatedRowsStart > rowCounter + 1) {
+                    shiftRows(sheet, relocatedRowsStart, sheet.getLastRowNum(), rowCounter + 1 - relocatedRowsStart);
+                }
+
+                var columns = rowMapers.getColumnNames().size();
+                if (columns > 0) {
+                    manager.markDirty(sheet, new CellRangeAddress(startRow, rowCounter, startColumn, startColumn + columns - 1));
+                }
+
+                if (widths != null) {
+                    var start = System.nanoTime();
+                    widths.apply(sheet, columnWidthMultiplier);
+                    autosizingNanos += System.nanoTime() - start;
+                }
+            }
         }
 
-        private void createRow(Sheet sheet, int num) {
-            var newRow = sheet.getRow(num);
-            if (newRow != null) {
+
+        private Row createRow(Sheet sheet, int num) {
+            if (sheet.getRow(num) != null) {
                 log.trace("Row {} already exists, shifting rows, this could be a performance issue", num);
-                sheet.shiftRows(num, sheet.getLastRowNum(), 1);
-                return;
+                shiftRows(sheet, num, sheet.getLastRowNum(), 1);
+            }
+            return sheet.createRow(num);
+        }
+
+        /**
+         * Shifts the rows, timing the shift for the metrics listener. XLS sheets keep the moved rows without cells in place,
+         * so the rows left empty by the shift are removed, as they would otherwise be shifted again when created.
+         */
+        private void shiftRows(Sheet sheet, int startRow, int endRow, int n) {
+            var start = System.nanoTime();
+            sheet.shiftRows(startRow, endRow, n);
+            var firstVacated = n > 0 ? startRow : Math.max(startRow, endRow + n + 1);
+            var lastVacated = n > 0 ? Math.min(endRow, startRow + n - 1) : endRow;
+            for (int i = firstVacated; i <= lastVacated; i++) {
+                var row = sheet.getRow(i);
+                if (row != null && row.getPhysicalNumberOfCells() == 0) sheet.removeRow(row);
             }
-            sheet.createRow(num);
+            manager.resetFormulaTracking();
+            shiftingNanos.add(System.nanoTime() - start);
+            shifts.increment();
         }
 
         public static Sheet getFirstSheet(Workbook workbook) {
@@ -0,0 +1,261 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.exceptions.NotFoundColumnWorkbookException;
+import io.github.luidmidev.apache.poi.exceptions.WorkbookException;
+import io.github.luidmidev.apache.poi.model.CellData;
+import lombok.extern.log4j.Log4j2;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.TempFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Reads the rows of a sheet into a stream of objects with a given configuration, the inverse of {@link WorkbookListMapper}.
+ * XLSX and XLS files are detected by content and parsed as a stream of rows instead of loading the workbook model, so
+ * memory use does not grow with the number of rows.
+ *
+ * @param <T> the type of the objects created for each row
+ */
+@Log4j2
+public class WorkbookListReader<T> {
+
+    private final Path path;
+    private final boolean temporary;
+    private final Supplier<T> factory;
+    private final ListReaderConfiguration<T> configuration = new ListReaderConfiguration<>();
+
+    public WorkbookListReader(Path path, Supplier<T> factory) {
+        this(path, false, factory);
+    }
+
+    private WorkbookListReader(Path path, boolean temporary, Supplier<T> factory) {
+        this.path = path;
+        this.temporary = temporary;
+        this.factory = factory;
+    }
+
+    /**
+     * Reads the rows of the file into a stream of objects. The stream holds the file open and must be closed.
+     *
+     * @param configurator the configurator of the columns to read
+     * @return a lazy stream with one object per non-empty data row, in sheet order
+     * @throws WorkbookException if the sheet or a configured column does not exist
+     * @throws IOException       if an I/O error occurs
+     */
+    public Stream<T> read(ListReaderConfigurator<T> configurator) throws WorkbookException, IOException {
+
+        configurator.apply(configuration);
+
+        SheetRowSource source = null;
+        try {
+            source = configuration.open(path);
+            var iterator = configuration.build(source, factory);
+            var closeable = source;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> close(closeable));
+        } catch (WorkbookException | IOException | RuntimeException e) {
+            if (source != null) close(source);
+            else deleteTemporary();
+            throw e;
+        }
+    }
+
+    private void close(SheetRowSource source) {
+        try {
+            source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteTemporary();
+        }
+    }
+
+    private void deleteTemporary() {
+        if (!temporary) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete temporary file {}", path, e);
+        }
+    }
+
+    public static <T> WorkbookListReader<T> from(Path path, Supplier<T> factory) {
+        return new WorkbookListReader<>(path, factory);
+    }
+
+    /**
+     * Reads from an input stream, which is first copied to a temporary file so the workbook can be read with random
+     * access instead of being buffered in memory. The temporary file is deleted when the resulting stream is closed,
+     * so the reader can be read only once.
+     */
+    public static <T> WorkbookListReader<T> from(InputStream inputStream, Supplier<T> factory) throws IOException {
+        var path = TempFile.createTempFile("workbook-list-reader", ".tmp").toPath();
+        try {
+            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new WorkbookListReader<>(path, true, factory);
+    }
+
+    @FunctionalInterface
+    public interface ListReaderConfigurator<T> {
+        void apply(ListReaderConfiguration<T> configuration) throws WorkbookException;
+    }
+
+    public static class ListReaderConfiguration<T> {
+
+        private final List<RowReader<T>> rowReaders = new ArrayList<>();
+        private final DataFormatter formatter = new DataFormatter();
+        private String sheetName;
+        private int sheetIndex;
+        private int headerRow;
+
+        private ListReaderConfiguration() {
+        }
+
+        public ListReaderConfiguration<T> withColumn(String column, RowReader.Setter<T> setter) {
+            rowReaders.add(new RowReader<>(column, setter));
+            return this;
+        }
+
+        public ListReaderConfiguration<T> withColumn(String column, BiConsumer<T, String> setter) {
+            return withColumn(column, (model, cell, rowNum) -> setter.accept(model, cell.asString()));
+        }
+
+        public <V> ListReaderConfiguration<T> withColumn(String column, Function<CellData, V> converter, BiConsumer<T, V> setter) {
+            return withColumn(column, (model, cell, rowNum) -> setter.accept(model, converter.apply(cell)));
+        }
+
+        /**
+         * Reads the sheet with the given name, by default the first sheet is read.
+         */
+        public ListReaderConfiguration<T> sheet(String sheetName) {
+            this.sheetName = sheetName;
+            return this;
+        }
+
+        /**
+         * Reads the sheet at the given index, by default the first sheet is read.
+         */
+        public ListReaderConfiguration<T> sheet(int sheetIndex) {
+            this.sheetName = null;
+            this.sheetIndex = sheetIndex;
+            return this;
+        }
+
+        /**
+         * Sets the index of the header row, the first existing row at or after it is used as header, by default 0.
+         */
+        public ListReaderConfiguration<T> headerRow(int headerRow) {
+            this.headerRow = headerRow;
+            return this;
+        }
+
+        /**
+         * Opens the row source matching the format of the file, XLSX through the XSSF reader and XLS through the HSSF event model.
+         */
+        private SheetRowSource open(Path path) throws WorkbookException, IOException {
+            var file = path.toFile();
+            return switch (FileMagic.valueOf(file)) {
+                case OOXML -> new XSSFSheetRowSource(file, sheetName, sheetIndex, formatter);
+                case OLE2 -> new HSSFSheetRowSource(file, sheetName, sheetIndex, formatter);
+                default -> throw new IOException("Unsupported file format, expected XLSX or XLS: " + path);
+            };
+        }
+
+        /**
+         * Resolves the configured columns against the header row and returns an iterator mapping the following rows.
+         */
+        private Iterator<T> build(SheetRowSource source, Supplier<T> factory) throws WorkbookException {
+
+            var header = findHeader(source);
+            var columnsByName = new HashMap<String, Integer>();
+            if (header != null) {
+                for (var cell : header.cells()) columnsByName.putIfAbsent(cell.asString().trim(), cell.getColumnIndex());
+            }
+
+            var lastColumn = -1;
+            var columnIndexes = new int[rowReaders.size()];
+            for (int i = 0; i < rowReaders.size(); i++) {
+                var column = rowReaders.get(i).column();
+                var index = columnsByName.get(column);
+                if (index == null) throw new NotFoundColumnWorkbookException(column);
+                columnIndexes[i] = index;
+                lastColumn = Math.max(lastColumn, index);
+            }
+
+            @SuppressWarnings("unchecked")
+            RowReader<T>[] readersByColumn = new RowReader[lastColumn + 1];
+            for (int i = 0; i < columnIndexes.length; i++) readersByColumn[columnIndexes[i]] = rowReaders.get(i);
+
+            return new RowIterator<>(source, readersByColumn, factory);
+        }
+
+        private SheetRow findHeader(SheetRowSource source) {
+            while (source.hasNext()) {
+                var row = source.next();
+                if (row.rowIndex() >= headerRow && !row.cells().isEmpty()) return row;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Maps each row with at least one configured column to a new object, setters are not called for empty cells.
+     */
+    private static final class RowIterator<T> implements Iterator<T> {
+
+        private final SheetRowSource source;
+        private final RowReader<T>[] readersByColumn;
+        private final Supplier<T> factory;
+        private T next;
+
+        private RowIterator(SheetRowSource source, RowReader<T>[] readersByColumn, Supplier<T> factory) {
+            this.source = source;
+            this.readersByColumn = readersByColumn;
+            this.factory = factory;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) next = map(source.next());
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            var model = next;
+            next = null;
+            return model;
+        }
+
+        private T map(SheetRow row) {
+            T model = null;
+            for (var cell : row.cells()) {
+                var columnIndex = cell.getColumnIndex();
+                if (columnIndex >= readersByColumn.length) break;
+                var reader = readersByColumn[columnIndex];
+                if (reader == null) continue;
+                if (model == null) model = factory.get();
+                reader.set(model, cell, row.rowIndex());
+            }
+            return model;
+        }
+    }
+}
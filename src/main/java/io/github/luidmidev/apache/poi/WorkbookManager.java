@@ -1,16 +1,31 @@
 package io.github.luidmidev.apache.poi;
 
 import io.github.luidmidev.apache.poi.exceptions.*;
+import io.github.luidmidev.apache.poi.model.CellArea;
+import io.github.luidmidev.apache.poi.model.FormulaEvaluationPolicy;
+import io.github.luidmidev.apache.poi.model.LazySpreadSheetFile;
+import io.github.luidmidev.apache.poi.model.OpenMode;
 import io.github.luidmidev.apache.poi.model.SpreadSheetFile;
+import io.github.luidmidev.apache.poi.model.WriteOptions;
 import io.github.luidmidev.apache.poi.model.WorkbookType;
 import lombok.Getter;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.util.ZipInputStreamZipEntrySource;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.AreaReference;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.*;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.Deflater;
 
 
 /**
@@ -19,9 +34,26 @@ import java.io.*;
 @Getter
 public class WorkbookManager implements Closeable, AutoCloseable {
 
+    /**
+     * Default number of rows kept in memory by a streaming workbook before they are flushed to disk.
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     protected final Workbook workbook;
     protected final WorkbookType type;
     protected final FormulaEvaluator evaluator;
+    protected FormulaEvaluationPolicy evaluationPolicy;
+
+    private final List<Cell> dirtyCells = new ArrayList<>();
+    private final Map<Sheet, List<CellRangeAddress>> dirtyRanges = new IdentityHashMap<>();
+    private FormulaDependencies formulaDependencies;
+    private CellStyleRegistry styleRegistry;
+    private ReferenceIndex referenceIndex;
+    private boolean fileBacked;
+    private WriteOptions writeOptions = WriteOptions.DEFAULT;
+    private volatile WorkbookMetricsListener metricsListener = WorkbookMetricsListener.NONE;
 
     /**
      * Creates a new instance of {@link WorkbookManager} with a new XSSFWorkbook.
@@ -49,7 +81,18 @@ public class WorkbookManager implements Closeable, AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public WorkbookManager(String filePath) throws IOException {
-        this(new FileInputStream(filePath));
+        this(Path.of(filePath));
+    }
+
+    /**
+     * Creates a new instance of {@link WorkbookManager} with the specified file, read into memory.
+     *
+     * @param path the path of the file
+     * @throws IOException if an I/O error occurs
+     * @see #open(Path, OpenMode)
+     */
+    public WorkbookManager(Path path) throws IOException {
+        this(readWorkbook(path));
     }
 
 
@@ -71,6 +114,7 @@ public class WorkbookManager implements Closeable, AutoCloseable {
         this.workbook = workbook;
         this.type = WorkbookManagerUtils.resolveWorkbookType(workbook);
         this.evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        this.evaluationPolicy = workbook instanceof SXSSFWorkbook ? FormulaEvaluationPolicy.FORCE_RECALC_ON_OPEN : FormulaEvaluationPolicy.ALL;
     }
 
 
@@ -84,6 +128,73 @@ public class WorkbookManager implements Closeable, AutoCloseable {
     }
 
 
+    /**
+     * Creates a new instance of {@link WorkbookManager} with the specified file, opened in the given mode. File backed
+     * workbooks read the entries of the file on demand and hold it open until the manager is closed; the file is never
+     * modified, changes are discarded on close unless written elsewhere.
+     *
+     * @param path the path of the file
+     * @param mode the open mode
+     * @return a new instance of WorkbookManager
+     * @throws IOException if an I/O error occurs
+     */
+    public static WorkbookManager open(Path path, OpenMode mode) throws IOException {
+        if (mode == OpenMode.IN_MEMORY) return new WorkbookManager(path);
+
+        var manager = new WorkbookManager(WorkbookFactory.create(path.toFile(), null, mode == OpenMode.READ_ONLY));
+        manager.fileBacked = true;
+        return manager;
+    }
+
+    /**
+     * Sets the size from which the zip entries of the XLSX workbooks read from a stream or a byte array are held in
+     * temporary files instead of memory, by default they are always held in memory. This setting applies to the whole JVM.
+     *
+     * @param thresholdBytes the size of an entry from which it is held in a temporary file, -1 to always use memory
+     */
+    public static void setTempFileThreshold(int thresholdBytes) {
+        ZipInputStreamZipEntrySource.setThresholdBytesForTempFiles(thresholdBytes);
+    }
+
+    private static Workbook readWorkbook(Path path) throws IOException {
+        try (var inputStream = new BufferedInputStream(Files.newInputStream(path))) {
+            return WorkbookFactory.create(inputStream);
+        }
+    }
+
+    /**
+     * Creates a new instance of {@link WorkbookManager} backed by a streaming XLSX workbook with the default row access window
+     * and compressed temporary files.
+     *
+     * @return a new instance of WorkbookManager
+     * @see #streaming(int, boolean)
+     */
+    public static WorkbookManager streaming() {
+        return streaming(DEFAULT_ROW_ACCESS_WINDOW_SIZE, true);
+    }
+
+    /**
+     * Creates a new instance of {@link WorkbookManager} backed by a streaming XLSX workbook ({@link SXSSFWorkbook}).
+     * Only the last {@code rowAccessWindowSize} rows of each sheet are kept in memory, older rows are flushed to temporary
+     * files, so rows must be written in ascending order and flushed rows can no longer be read or modified.
+     *
+     * @param rowAccessWindowSize the number of rows kept in memory per sheet
+     * @param compressTempFiles   whether the temporary files holding flushed rows are gzip compressed
+     * @return a new instance of WorkbookManager
+     */
+    public static WorkbookManager streaming(int rowAccessWindowSize, boolean compressTempFiles) {
+        return new WorkbookManager(new StreamingWorkbook(rowAccessWindowSize, compressTempFiles));
+    }
+
+    /**
+     * Whether the workbook is a streaming workbook, where rows outside the access window have been flushed to disk.
+     *
+     * @return true if the workbook is a streaming workbook
+     */
+    public boolean isStreaming() {
+        return workbook instanceof SXSSFWorkbook;
+    }
+
     /**
      * Creates a new instance of {@link WorkbookManager} with the specified file and type.
      * @param reference the file
@@ -94,10 +205,7 @@ public class WorkbookManager implements Closeable, AutoCloseable {
      * @throws MultipleCellsWorkbookException if multiple cells are found
      */
     public Cell getCell(String reference) throws NotFoundCellWorkbookException, NotFoundSheetWorkbookException, NotFoundRowWorkbookException, MultipleCellsWorkbookException {
-        var cells = getCells(reference);
-        if (cells.length > 1) throw new MultipleCellsWorkbookException(reference);
-        return cells[0];
-
+        return getReferenceIndex().getCell(reference);
     }
 
     /**
@@ -140,9 +248,16 @@ public class WorkbookManager implements Closeable, AutoCloseable {
         return WorkbookManagerUtils.getCell(rowIndex, cellIndex, sxxfSheet);
     }
 
+    /**
+     * Get the cells of a reference, a defined name or an A1 reference, resolved once by the {@link ReferenceIndex}.
+     * @param reference the reference
+     * @return the cells, row by row
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
+     * @throws NotFoundRowWorkbookException if a row does not exist
+     * @throws NotFoundCellWorkbookException if a cell does not exist
+     */
     public Cell[] getCells(String reference) throws NotFoundCellWorkbookException, NotFoundSheetWorkbookException, NotFoundRowWorkbookException {
-        var cellsReferences = workbook.getName(reference) != null ? getCellsReferencesFromName(reference) : getCellsReferencesFromFormula(reference);
-        return getCells(cellsReferences);
+        return getReferenceIndex().getCells(reference);
     }
 
     public Cell[] getCells(CellReference... cellsReferences) throws NotFoundCellWorkbookException, NotFoundSheetWorkbookException, NotFoundRowWorkbookException {
@@ -155,29 +270,165 @@ public class WorkbookManager implements Closeable, AutoCloseable {
 
 
     /**
-     * Obtiene un arreglo de objetos CellReference que representan las celdas incluidas en el
-     * rango con nombre especificado en el libro de trabajo.
+     * Writes a block of numbers to the range of the reference, row by row from its first cell, creating the missing rows
+     * and cells. The values are not boxed.
+     *
+     * @param reference the defined name or the A1 reference of the range
+     * @param values    the values by row, that must fit in the range
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
+     * @throws IllegalArgumentException       if the values do not fit in the range
+     */
+    public void writeRange(String reference, double[][] values) throws NotFoundSheetWorkbookException {
+        var resolved = getReferenceIndex().lookup(reference);
+        var area = resolved.area();
+        var columns = checkFits(reference, area, values);
+        for (int i = 0; i < values.length; i++) {
+            var row = getOrCreateRow(resolved.sheet(), area.firstRow() + i);
+            var rowValues = values[i];
+            for (int j = 0; j < rowValues.length; j++) {
+                getOrCreateCell(row, area.firstColumn() + j).setCellValue(rowValues[j]);
+            }
+        }
+        markWritten(resolved, values.length, columns);
+    }
+
+    /**
+     * Writes a block of values to the range of the reference, row by row from its first cell, creating the missing rows
+     * and cells. Each value is written as by {@link WorkbookManagerUtils#setCellValue(Cell, Object)}.
+     *
+     * @param reference the defined name or the A1 reference of the range
+     * @param values    the values by row, that must fit in the range
+     * @throws NotFoundSheetWorkbookException           if the sheet does not exist
+     * @throws UnsuportedCellValueTypeWorkbookException if the type of a value is not supported
+     * @throws IllegalArgumentException                 if the values do not fit in the range
+     */
+    public void writeRange(String reference, Object[][] values) throws NotFoundSheetWorkbookException, UnsuportedCellValueTypeWorkbookException {
+        var resolved = getReferenceIndex().lookup(reference);
+        var area = resolved.area();
+        var columns = checkFits(reference, area, values);
+        for (int i = 0; i < values.length; i++) {
+            var row = getOrCreateRow(resolved.sheet(), area.firstRow() + i);
+            var rowValues = values[i];
+            for (int j = 0; j < rowValues.length; j++) {
+                WorkbookManagerUtils.setCellValue(getOrCreateCell(row, area.firstColumn() + j), rowValues[j]);
+            }
+        }
+        markWritten(resolved, values.length, columns);
+    }
+
+    /**
+     * Reads the numbers of the range of the reference by row, formulas give their cached result. Cells that are missing
+     * or do not hold a number are read as {@link Double#NaN}.
      *
-     * @param name el nombre del rango de celdas para el cual se desea obtener los objetos CellReference
-     * @return un arreglo de objetos CellReference que representan las celdas incluidas en el rango
-     * con nombre especificado
+     * @param reference the defined name or the A1 reference of the range
+     * @return the values by row
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
      */
-    private CellReference[] getCellsReferencesFromName(String name) {
-        var xssfName = workbook.getName(name);
-        var formula = xssfName.getRefersToFormula();
-        return getCellsReferencesFromFormula(formula);
+    public double[][] readRange(String reference) throws NotFoundSheetWorkbookException {
+        return readRange(reference, false);
     }
 
+    /**
+     * Reads the numbers of the range of the reference by row as {@link #readRange(String)}, evaluating the formulas with
+     * the evaluator of the manager first.
+     *
+     * @param reference the defined name or the A1 reference of the range
+     * @return the values by row
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
+     */
+    public double[][] readEvaluatedRange(String reference) throws NotFoundSheetWorkbookException {
+        return readRange(reference, true);
+    }
 
     /**
-     * Obtiene un arreglo de objetos CellReference que representan las celdas incluidas en el rango
+     * Reads the values of the range of the reference by row, as {@link Double}, {@link String} or {@link Boolean}, with
+     * the formulas evaluated; missing and blank cells are null and errors are their error code.
      *
-     * @param formula La formula que contiene el rango de celdas.
-     * @return Un arreglo de objetos CellReference que representan las celdas incluidas en el rango.
+     * @param reference the defined name or the A1 reference of the range
+     * @return the values by row
+     * @throws NotFoundSheetWorkbookException if the sheet does not exist
      */
-    private CellReference[] getCellsReferencesFromFormula(String formula) {
-        var areaReference = new AreaReference(formula, workbook.getSpreadsheetVersion());
-        return areaReference.getAllReferencedCells();
+    public Object[][] readRangeValues(String reference) throws NotFoundSheetWorkbookException {
+        var resolved = getReferenceIndex().lookup(reference);
+        var area = resolved.area();
+        var values = new Object[area.lastRow() - area.firstRow() + 1][area.lastColumn() - area.firstColumn() + 1];
+        for (int i = 0; i < values.length; i++) {
+            var row = resolved.sheet().getRow(area.firstRow() + i);
+            if (row == null) continue;
+            for (int j = 0; j < values[i].length; j++) {
+                var cell = row.getCell(area.firstColumn() + j);
+                if (cell == null) continue;
+                var type = cell.getCellType() == CellType.FORMULA ? evaluator.evaluateFormulaCell(cell) : cell.getCellType();
+                values[i][j] = switch (type) {
+                    case NUMERIC -> cell.getNumericCellValue();
+                    case STRING -> cell.getStringCellValue();
+                    case BOOLEAN -> cell.getBooleanCellValue();
+                    case ERROR -> cell.getErrorCellValue();
+                    default -> null;
+                };
+            }
+        }
+        return values;
+    }
+
+    private double[][] readRange(String reference, boolean evaluate) throws NotFoundSheetWorkbookException {
+        var resolved = getReferenceIndex().lookup(reference);
+        var area = resolved.area();
+        var values = new double[area.lastRow() - area.firstRow() + 1][area.lastColumn() - area.firstColumn() + 1];
+        for (int i = 0; i < values.length; i++) {
+            var rowValues = values[i];
+            var row = resolved.sheet().getRow(area.firstRow() + i);
+            if (row == null) {
+                Arrays.fill(rowValues, Double.NaN);
+                continue;
+            }
+            for (int j = 0; j < rowValues.length; j++) {
+                var cell = row.getCell(area.firstColumn() + j);
+                rowValues[j] = cell == null ? Double.NaN : numericValue(cell, evaluate);
+            }
+        }
+        return values;
+    }
+
+    private double numericValue(Cell cell, boolean evaluate) {
+        var type = cell.getCellType();
+        if (type == CellType.FORMULA) type = evaluate ? evaluator.evaluateFormulaCell(cell) : cell.getCachedFormulaResultType();
+        return type == CellType.NUMERIC ? cell.getNumericCellValue() : Double.NaN;
+    }
+
+    private static int checkFits(String reference, CellArea area, double[][] values) {
+        var columns = 0;
+        for (var rowValues : values) columns = Math.max(columns, rowValues.length);
+        return checkFits(reference, area, values.length, columns);
+    }
+
+    private static int checkFits(String reference, CellArea area, Object[][] values) {
+        var columns = 0;
+        for (var rowValues : values) columns = Math.max(columns, rowValues.length);
+        return checkFits(reference, area, values.length, columns);
+    }
+
+    private static int checkFits(String reference, CellArea area, int rows, int columns) {
+        if (rows > area.lastRow() - area.firstRow() + 1 || columns > area.lastColumn() - area.firstColumn() + 1) {
+            throw new IllegalArgumentException("A block of " + rows + "x" + columns + " values does not fit in " + reference);
+        }
+        return columns;
+    }
+
+    private void markWritten(ReferenceIndex.Resolved resolved, int rows, int columns) {
+        if (rows == 0 || columns == 0) return;
+        var area = resolved.area();
+        markDirty(resolved.sheet(), new CellRangeAddress(area.firstRow(), area.firstRow() + rows - 1, area.firstColumn(), area.firstColumn() + columns - 1));
+    }
+
+    private static Row getOrCreateRow(Sheet sheet, int rowIndex) {
+        var row = sheet.getRow(rowIndex);
+        return row != null ? row : sheet.createRow(rowIndex);
+    }
+
+    private static Cell getOrCreateCell(Row row, int columnIndex) {
+        var cell = row.getCell(columnIndex);
+        return cell != null ? cell : row.createCell(columnIndex);
     }
 
     /**
@@ -186,7 +437,9 @@ public class WorkbookManager implements Closeable, AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     public ByteArrayInputStream getInputStream() throws IOException {
-        return new ByteArrayInputStream(getBytes());
+        var bos = new ExposedByteArrayOutputStream();
+        writeTo(bos);
+        return bos.toInputStream();
     }
 
 
@@ -196,29 +449,301 @@ public class WorkbookManager implements Closeable, AutoCloseable {
      * @throws IOException if an I/O error occurs
      */
     private byte[] getBytes() throws IOException {
-        var evaluator = workbook.getCreationHelper().createFormulaEvaluator();
-        evaluator.clearAllCachedResultValues();
-        evaluator.evaluateAll();
         var bos = new ByteArrayOutputStream();
-        workbook.write(bos);
-        byte[] bytes = bos.toByteArray();
-        bos.close();
-        return bytes;
+        writeTo(bos);
+        return bos.toByteArray();
+    }
+
+    /**
+     * Writes the workbook of the current state to the output stream, the stream is not closed.
+     * @param outputStream the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        var listener = metricsListener;
+        if (listener != WorkbookMetricsListener.NONE) {
+            var start = System.nanoTime();
+            var counted = prepareForWrite();
+            var serializing = System.nanoTime();
+            listener.phaseCompleted(WorkbookMetricsListener.Phase.FORMULA_EVALUATION, serializing - start, counted);
+
+            var countingOutputStream = new CountingOutputStream(outputStream);
+            write(countingOutputStream);
+            listener.phaseCompleted(WorkbookMetricsListener.Phase.SERIALIZATION, System.nanoTime() - serializing, countingOutputStream.getCount());
+            return;
+        }
+        prepareForWrite();
+        write(outputStream);
+    }
+
+    /**
+     * Sets the listener receiving the metrics of the workbook, also used by default by the list mappers writing to it.
+     *
+     * @param metricsListener the listener, {@link WorkbookMetricsListener#NONE} to ignore the metrics
+     */
+    public void setMetricsListener(WorkbookMetricsListener metricsListener) {
+        this.metricsListener = Objects.requireNonNull(metricsListener);
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        switch (workbook) {
+            case XSSFWorkbook xssfWorkbook when !writeOptions.equals(WriteOptions.DEFAULT) -> PackageWriter.write(xssfWorkbook, outputStream, writeOptions);
+            case StreamingWorkbook streamingWorkbook -> streamingWorkbook.write(outputStream, writeOptions);
+            default -> workbook.write(outputStream);
+        }
+    }
+
+    /**
+     * Sets how the package of an XLSX workbook is compressed when it is written, also for the spreadsheet files. A
+     * streaming workbook writes its rows straight to the package, so it only applies the compression level, with no
+     * compression for stored entries, and the zip64 mode.
+     *
+     * @param writeOptions the write options
+     */
+    public void setWriteOptions(WriteOptions writeOptions) {
+        this.writeOptions = Objects.requireNonNull(writeOptions);
+    }
+
+    /**
+     * Writes the workbook of the current state to the file, creating or truncating it.
+     * @param path the path of the file
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(Path path) throws IOException {
+        try (var outputStream = new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE)) {
+            writeTo(outputStream);
+        }
+    }
+
+    /**
+     * Writes the workbook of the current state to the channel, the channel is not closed.
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        var outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+        writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * Sets how the formulas are evaluated before the workbook is written, by default {@link FormulaEvaluationPolicy#ALL},
+     * or {@link FormulaEvaluationPolicy#FORCE_RECALC_ON_OPEN} for streaming workbooks.
+     *
+     * @param evaluationPolicy the evaluation policy
+     * @throws IllegalArgumentException if the policy requires evaluating a streaming workbook
+     */
+    public void setEvaluationPolicy(FormulaEvaluationPolicy evaluationPolicy) {
+        var evaluates = evaluationPolicy == FormulaEvaluationPolicy.ALL || evaluationPolicy == FormulaEvaluationPolicy.DIRTY_ONLY;
+        if (evaluates && isStreaming()) {
+            throw new IllegalArgumentException("Streaming workbooks can not be evaluated, use NONE or FORCE_RECALC_ON_OPEN");
+        }
+        this.evaluationPolicy = evaluationPolicy;
+        resetFormulaTracking();
+    }
+
+    /**
+     * Sets the value of a single cell by its reference and marks it as written for {@link FormulaEvaluationPolicy#DIRTY_ONLY}.
+     *
+     * @param reference the reference of the cell or the name of a single cell range
+     * @param value     the value to set
+     * @throws WorkbookException if the cell can not be resolved or the value type is not supported
+     */
+    public void setCellValue(String reference, Object value) throws WorkbookException {
+        var cell = getCell(reference);
+        WorkbookManagerUtils.setCellValue(cell, value);
+        markDirty(cell);
+    }
+
+    /**
+     * Reports that the cell was written, so the formulas depending on it are re-evaluated on the next write when the
+     * policy is {@link FormulaEvaluationPolicy#DIRTY_ONLY}. Formula cells reported here are added to the evaluated formulas.
+     *
+     * @param cell the written cell
+     */
+    public void markDirty(Cell cell) {
+        if (evaluationPolicy == FormulaEvaluationPolicy.DIRTY_ONLY) dirtyCells.add(cell);
+    }
+
+    /**
+     * Reports that the cells of the range were written, see {@link #markDirty(Cell)}.
+     *
+     * @param sheet the sheet of the range
+     * @param range the written range
+     */
+    public void markDirty(Sheet sheet, CellRangeAddress range) {
+        if (evaluationPolicy == FormulaEvaluationPolicy.DIRTY_ONLY) {
+            dirtyRanges.computeIfAbsent(sheet, key -> new ArrayList<>()).add(range);
+        }
+    }
+
+    /**
+     * Discards the tracked formulas, written cells and resolved references, the next write evaluates every formula again.
+     * Must be called after structural changes such as shifting or removing rows, removing sheets or redefining names;
+     * the list mappers call it after the rows they shift.
+     */
+    public void resetFormulaTracking() {
+        dirtyCells.clear();
+        dirtyRanges.clear();
+        formulaDependencies = null;
+        if (referenceIndex != null) referenceIndex.invalidate();
+    }
+
+    /**
+     * Evaluates the formulas of the workbook before it is written, according to the evaluation policy.
+     *
+     * @return the number of evaluated formulas, -1 when all of them are evaluated
+     */
+    private long prepareForWrite() {
+        return switch (evaluationPolicy) {
+            case NONE -> 0;
+            case FORCE_RECALC_ON_OPEN -> {
+                workbook.setForceFormulaRecalculation(true);
+                yield 0;
+            }
+            case ALL -> {
+                evaluator.clearAllCachedResultValues();
+                evaluator.evaluateAll();
+                yield -1;
+            }
+            case DIRTY_ONLY -> evaluateDirty();
+        };
+    }
+
+    /**
+     * Evaluates every formula the first time, indexing them by the cells they read, then only the formulas depending
+     * on the cells marked as dirty, directly or through other formulas. The evaluator cache keeps the results of the
+     * untouched formulas. Every formula is evaluated again when a tracked formula is found moved.
+     *
+     * @return the number of evaluated formulas
+     */
+    private long evaluateDirty() {
+        if (formulaDependencies == null) return evaluateAllTracked();
+        if (dirtyCells.isEmpty() && dirtyRanges.isEmpty()) return 0;
+
+        var dependents = Collections.<Cell>newSetFromMap(new IdentityHashMap<>());
+        var inPlace = true;
+        for (var cell : dirtyCells) {
+            notifyWritten(cell, dependents);
+            if (inPlace) {
+                var rowIndex = cell.getRowIndex();
+                var columnIndex = cell.getColumnIndex();
+                inPlace = formulaDependencies.collectDependents(cell.getSheet(), rowIndex, rowIndex, columnIndex, columnIndex, dependents);
+            }
+        }
+        for (var entry : dirtyRanges.entrySet()) {
+            var sheet = entry.getKey();
+            for (var range : entry.getValue()) {
+                notifyUpdateRange(sheet, range, dependents);
+                if (inPlace) {
+                    inPlace = formulaDependencies.collectDependents(sheet, range.getFirstRow(), range.getLastRow(), range.getFirstColumn(), range.getLastColumn(), dependents);
+                }
+            }
+        }
+        dirtyCells.clear();
+        dirtyRanges.clear();
+
+        if (!inPlace) return evaluateAllTracked();
+        for (var cell : dependents) evaluator.evaluateFormulaCell(cell);
+        return dependents.size();
+    }
+
+    private long evaluateAllTracked() {
+        formulaDependencies = new FormulaDependencies(workbook);
+        dirtyCells.clear();
+        dirtyRanges.clear();
+        evaluator.clearAllCachedResultValues();
+        for (var sheet : workbook) {
+            for (var row : sheet) {
+                for (var cell : row) {
+                    if (cell.getCellType() != CellType.FORMULA) continue;
+                    formulaDependencies.add(cell);
+                    evaluator.evaluateFormulaCell(cell);
+                }
+            }
+        }
+        return formulaDependencies.size();
+    }
+
+    private void notifyUpdateRange(Sheet sheet, CellRangeAddress range, Set<Cell> dependents) {
+        for (int rowIndex = range.getFirstRow(); rowIndex <= range.getLastRow(); rowIndex++) {
+            var row = sheet.getRow(rowIndex);
+            if (row == null) continue;
+            for (int columnIndex = range.getFirstColumn(); columnIndex <= range.getLastColumn(); columnIndex++) {
+                var cell = row.getCell(columnIndex);
+                if (cell != null) notifyWritten(cell, dependents);
+            }
+        }
+    }
+
+    /**
+     * Tells the evaluator the cell was written, a written formula is tracked and evaluated.
+     */
+    private void notifyWritten(Cell cell, Set<Cell> dependents) {
+        if (cell.getCellType() == CellType.FORMULA) {
+            formulaDependencies.add(cell);
+            evaluator.notifySetFormula(cell);
+            dependents.add(cell);
+        } else {
+            formulaDependencies.remove(cell);
+            evaluator.notifyUpdateCell(cell);
+        }
+    }
+
+    /**
+     * Gets the registry of the cell styles of the workbook, shared by everything writing to it so equal styles are only
+     * created once.
+     *
+     * @return the style registry
+     */
+    public synchronized CellStyleRegistry getStyleRegistry() {
+        if (styleRegistry == null) styleRegistry = new CellStyleRegistry(this);
+        return styleRegistry;
+    }
+
+    /**
+     * Gets the index resolving the references used to look up cells.
+     *
+     * @return the reference index
+     */
+    public synchronized ReferenceIndex getReferenceIndex() {
+        if (referenceIndex == null) referenceIndex = new ReferenceIndex(workbook);
+        return referenceIndex;
     }
 
     @Override
     public void close() throws IOException {
-        workbook.close();
+        try {
+            // A package opened from a file for writing saves itself back to the file when closed
+            if (fileBacked && workbook instanceof XSSFWorkbook xssfWorkbook && xssfWorkbook.getPackage().getPackageAccess() == PackageAccess.READ_WRITE) {
+                xssfWorkbook.getPackage().revert();
+            } else {
+                workbook.close();
+            }
+        } finally {
+            if (styleRegistry != null) styleRegistry.close();
+        }
     }
 
     /**
-     * Clone the current workbook.
+     * Clone the current workbook. The workbook is copied as it is, without evaluating its formulas, through an in-memory
+     * package whose entries are not compressed; the copy keeps the evaluation policy and evaluates them when written.
+     * A copy of a streaming workbook is a regular XLSX workbook.
      *
      * @return a new instance of WokbookManager with the same workbook
+     * @throws IOException if an I/O error occurs
      */
     public WorkbookManager copy() throws IOException {
-        return new WorkbookManager(getInputStream());
+        var bos = new ExposedByteArrayOutputStream();
+        if (workbook instanceof XSSFWorkbook xssfWorkbook) {
+            PackageWriter.write(xssfWorkbook, bos, PackageWriter.UNCOMPRESSED);
+        } else {
+            workbook.write(bos);
+        }
 
+        var copy = new WorkbookManager(bos.toInputStream());
+        if (!isStreaming()) copy.evaluationPolicy = evaluationPolicy;
+        return copy;
     }
 
 
@@ -232,4 +757,78 @@ public class WorkbookManager implements Closeable, AutoCloseable {
 
         return report;
     }
+
+    /**
+     * Get a spreadsheet file whose content is written from the current state of the workbook each time it is requested,
+     * so it can be streamed with {@link SpreadSheetFile#writeTo(OutputStream)} without buffering it in memory.
+     * The workbook must remain open while the content is consumed.
+     *
+     * @param name the name of the file without extension
+     * @return the lazy spreadsheet file
+     */
+    public LazySpreadSheetFile getLazySpreadsheet(String name) {
+        return new LazySpreadSheetFile(name + "." + type.getExtension(), type, this::writeTo);
+    }
+
+    /**
+     * A streaming workbook whose package is written with the compression level of the write options.
+     */
+    private static final class StreamingWorkbook extends SXSSFWorkbook {
+
+        private WriteOptions writeOptions = WriteOptions.DEFAULT;
+
+        private StreamingWorkbook(int rowAccessWindowSize, boolean compressTempFiles) {
+            super(null, rowAccessWindowSize, compressTempFiles);
+        }
+
+        private void write(OutputStream outputStream, WriteOptions writeOptions) throws IOException {
+            this.writeOptions = writeOptions;
+            setZip64Mode(writeOptions.zip64Mode());
+            write(outputStream);
+        }
+
+        @Override
+        protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream outputStream) {
+            var zipOutputStream = super.createArchiveOutputStream(outputStream);
+            zipOutputStream.setLevel(writeOptions.stored() ? Deflater.NO_COMPRESSION : writeOptions.compressionLevel());
+            return zipOutputStream;
+        }
+    }
+
+    /**
+     * Counts the bytes written to the output stream.
+     */
+    static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that can be read back without copying its buffer.
+     */
+    static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ByteArrayInputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
 }
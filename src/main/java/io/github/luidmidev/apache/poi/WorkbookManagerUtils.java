@@ -58,11 +58,13 @@ public final class WorkbookManagerUtils {
      */
     public static Cell getCellWithMostLines(Row row, FormulaEvaluator evaluator) {
         Cell cellWithMostLines = null;
+        var mostLines = 0;
         for (var cell : row) {
             if (cell.getCellType() == CellType.STRING) {
-                var cellValue = (String) WorkbookManagerUtils.getCellValue(cell, evaluator);
-                if (cellWithMostLines == null || cellValue.split("\n").length > cellWithMostLines.getStringCellValue().split("\n").length) {
+                var lines = countLines((String) WorkbookManagerUtils.getCellValue(cell, evaluator));
+                if (cellWithMostLines == null || lines > mostLines) {
                     cellWithMostLines = cell;
+                    mostLines = lines;
                 }
             }
         }
@@ -79,8 +81,38 @@ public final class WorkbookManagerUtils {
      * @return the points
      */
     public static float calculatePointsByLines(String content, float pointsPerLine) {
-        var lines = content.split("\n").length;
-        return pointsPerLine * lines;
+        return pointsPerLine * countLines(content);
+    }
+
+    /**
+     * Counts the lines of the content without splitting it, trailing line breaks are not counted as lines
+     * @param content the content
+     * @return the number of lines, at least one
+     */
+    public static int countLines(CharSequence content) {
+        var end = content.length();
+        while (end > 0 && content.charAt(end - 1) == '\n') end--;
+        var lines = 1;
+        for (int i = 0; i < end; i++) {
+            if (content.charAt(i) == '\n') lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the number of characters of the longest line of the content, without splitting it
+     * @param content the content
+     * @return the length of the longest line
+     */
+    public static int longestLineLength(CharSequence content) {
+        int longest = 0, start = 0, length = content.length();
+        for (int i = 0; i < length; i++) {
+            if (content.charAt(i) == '\n') {
+                longest = Math.max(longest, i - start);
+                start = i + 1;
+            }
+        }
+        return Math.max(longest, length - start);
     }
 
     /**
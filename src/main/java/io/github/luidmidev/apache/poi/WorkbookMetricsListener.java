@@ -0,0 +1,66 @@
+package io.github.luidmidev.apache.poi;
+
+/**
+ * Receives the durations of the phases of generating a workbook, to monitor exports in production. A listener is set on
+ * a {@link WorkbookManager}, reporting the styles, formula evaluation and serialization, and is used by default by the
+ * list mappers writing to it, reporting the rows. Methods may be called from the threads writing the workbook.
+ */
+public interface WorkbookMetricsListener {
+
+    /**
+     * A listener ignoring every metric.
+     */
+    WorkbookMetricsListener NONE = new WorkbookMetricsListener() {
+    };
+
+    /**
+     * The phases of generating a workbook, with the meaning of their count.
+     */
+    enum Phase {
+        /**
+         * Moving the existing rows out of the way of the data, counts the shifts.
+         */
+        ROW_SHIFTING,
+        /**
+         * Creating a cell style that did not exist in the workbook, counts the created styles.
+         */
+        STYLE_BUILDING,
+        /**
+         * Writing the data rows, counts the written cells.
+         */
+        CELL_WRITING,
+        /**
+         * Setting the estimated column widths, counts the sized columns.
+         */
+        AUTOSIZING,
+        /**
+         * Evaluating the formulas before writing, counts the evaluated formulas, or -1 when they are all evaluated.
+         */
+        FORMULA_EVALUATION,
+        /**
+         * Writing the file, counts the written bytes.
+         */
+        SERIALIZATION
+    }
+
+    /**
+     * Reports that a phase completed.
+     *
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     * @param count the count of the phase
+     */
+    default void phaseCompleted(Phase phase, long nanos, long count) {
+        // Do nothing
+    }
+
+    /**
+     * Reports that a list mapper wrote all its rows, the throughput is {@code rows * 1e9 / nanos} rows per second.
+     *
+     * @param rows  the number of data rows
+     * @param nanos the duration of the mapping in nanoseconds
+     */
+    default void mappingCompleted(int rows, long nanos) {
+        // Do nothing
+    }
+}
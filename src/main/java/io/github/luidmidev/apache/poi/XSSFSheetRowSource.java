@@ -0,0 +1,245 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.exceptions.NotFoundSheetWorkbookException;
+import io.github.luidmidev.apache.poi.model.CellData;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the rows of a sheet of an XLSX file with a pull parser over the sheet part, resolving shared strings, through
+ * the read-only table of {@link XSSFReader}, and number formats, so only the current row is kept in memory.
+ */
+final class XSSFSheetRowSource implements SheetRowSource {
+
+    private final OPCPackage pkg;
+    private final SharedStrings sharedStrings;
+    private final StylesTable styles;
+    private final DataFormatter formatter;
+    private final boolean date1904;
+    private final InputStream sheetStream;
+    private final XMLStreamReader reader;
+
+    private final Map<Integer, String> formatStrings = new HashMap<>();
+    private final List<CellData> cells = new ArrayList<>();
+    private SheetRow next;
+    private int lastRowIndex = -1;
+
+    /**
+     * Opens the sheet of the file, selected by name or, when the name is null, by index.
+     */
+    XSSFSheetRowSource(File file, String sheetName, int sheetIndex, DataFormatter formatter) throws IOException, NotFoundSheetWorkbookException {
+        this.pkg = openPackage(file);
+        this.formatter = formatter;
+        try {
+            var xssfReader = new XSSFReader(pkg);
+            xssfReader.setUseReadOnlySharedStringsTable(true);
+            this.sharedStrings = xssfReader.getSharedStringsTable();
+            this.styles = xssfReader.getStylesTable();
+            this.date1904 = isDate1904(xssfReader);
+            this.sheetStream = findSheet(xssfReader, sheetName, sheetIndex);
+            this.reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+        } catch (OpenXML4JException | XMLStreamException e) {
+            pkg.revert();
+            throw new IOException("Unable to read the sheet: " + e.getMessage(), e);
+        } catch (IOException | NotFoundSheetWorkbookException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    private static OPCPackage openPackage(File file) throws IOException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to open the file as XLSX: " + e.getMessage(), e);
+        }
+    }
+
+    private static InputStream findSheet(XSSFReader xssfReader, String sheetName, int sheetIndex) throws IOException, OpenXML4JException, NotFoundSheetWorkbookException {
+        var sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        var index = 0;
+        while (sheets.hasNext()) {
+            var stream = sheets.next();
+            if (sheetName == null ? index == sheetIndex : sheetName.equals(sheets.getSheetName())) return stream;
+            stream.close();
+            index++;
+        }
+        throw sheetName == null ? new NotFoundSheetWorkbookException(sheetIndex) : new NotFoundSheetWorkbookException(sheetName);
+    }
+
+    private static boolean isDate1904(XSSFReader xssfReader) throws IOException, OpenXML4JException, XMLStreamException {
+        try (var workbookData = xssfReader.getWorkbookData()) {
+            var reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(workbookData);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) continue;
+                    var name = reader.getLocalName();
+                    if (name.equals("workbookPr")) {
+                        var value = reader.getAttributeValue(null, "date1904");
+                        return "1".equals(value) || "true".equals(value);
+                    }
+                    if (name.equals("sheets")) return false;
+                }
+                return false;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = readRow();
+        return next != null;
+    }
+
+    @Override
+    public SheetRow next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        var row = next;
+        next = null;
+        return row;
+    }
+
+    private SheetRow readRow() {
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("row")) {
+                    var reference = reader.getAttributeValue(null, "r");
+                    lastRowIndex = reference == null ? lastRowIndex + 1 : Integer.parseInt(reference) - 1;
+                    readCells(lastRowIndex);
+                    return new SheetRow(lastRowIndex, cells);
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Unable to parse the sheet: " + e.getMessage(), e));
+        }
+    }
+
+    private void readCells(int rowIndex) throws XMLStreamException {
+        cells.clear();
+        var columnIndex = -1;
+        while (reader.hasNext()) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("row")) return;
+            if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("c")) {
+                var reference = reader.getAttributeValue(null, "r");
+                columnIndex = reference == null ? columnIndex + 1 : parseColumnIndex(reference);
+                var cell = readCell(rowIndex, columnIndex, reader.getAttributeValue(null, "t"), reader.getAttributeValue(null, "s"));
+                if (cell != null) cells.add(cell);
+            }
+        }
+    }
+
+    /**
+     * Parses the column of an A1 style reference without allocating, for example 2 for C12.
+     */
+    private static int parseColumnIndex(String reference) {
+        var column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            var c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Reads the content of a {@code c} element, leaving the reader on its end element.
+     */
+    private CellData readCell(int rowIndex, int columnIndex, String type, String style) throws XMLStreamException {
+        String value = null;
+        StringBuilder inline = null;
+        var depth = 1;
+        while (depth > 0) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                var name = reader.getLocalName();
+                if (name.equals("v")) {
+                    value = reader.getElementText();
+                    depth--;
+                } else if (name.equals("t")) {
+                    if (inline == null) inline = new StringBuilder();
+                    inline.append(reader.getElementText());
+                    depth--;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        if (type == null) type = "n";
+        return switch (type) {
+            case "inlineStr" -> inline == null ? null : CellData.ofString(rowIndex, columnIndex, inline.toString());
+            case "s" -> value == null ? null : CellData.ofString(rowIndex, columnIndex, sharedString(Integer.parseInt(value)));
+            case "str", "d" -> value == null ? null : CellData.ofString(rowIndex, columnIndex, value);
+            case "b" -> value == null ? null : CellData.ofBoolean(rowIndex, columnIndex, value.equals("1") || value.equals("true"));
+            case "e" -> value == null ? null : CellData.ofError(rowIndex, columnIndex, value);
+            default -> value == null || value.isEmpty() ? null : readNumber(rowIndex, columnIndex, value, style);
+        };
+    }
+
+    /**
+     * Gets the shared string of the index, failing as a malformed sheet when the file has no such string.
+     */
+    private String sharedString(int index) throws XMLStreamException {
+        if (sharedStrings == null) throw new XMLStreamException("The sheet refers to the shared string " + index + " but the file has no shared strings", reader.getLocation());
+        try {
+            return sharedStrings.getItemAt(index).getString();
+        } catch (IndexOutOfBoundsException e) {
+            throw new XMLStreamException("The sheet refers to the shared string " + index + " which is not in the file", reader.getLocation());
+        }
+    }
+
+    private CellData readNumber(int rowIndex, int columnIndex, String value, String style) {
+        var number = Double.parseDouble(value);
+        if (style == null || styles == null) {
+            return CellData.ofNumber(rowIndex, columnIndex, number, 0, null, date1904, formatter);
+        }
+        var cellStyle = styles.getStyleAt(Integer.parseInt(style));
+        if (cellStyle == null) {
+            return CellData.ofNumber(rowIndex, columnIndex, number, 0, null, date1904, formatter);
+        }
+        int formatIndex = cellStyle.getDataFormat();
+        var formatString = formatStrings.computeIfAbsent(formatIndex, key -> resolveFormatString(cellStyle.getDataFormatString(), key));
+        return CellData.ofNumber(rowIndex, columnIndex, number, formatIndex, formatString, date1904, formatter);
+    }
+
+    private static String resolveFormatString(String formatString, int formatIndex) {
+        return formatString != null ? formatString : BuiltinFormats.getBuiltinFormat(formatIndex);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            sheetStream.close();
+            pkg.revert();
+        }
+    }
+}
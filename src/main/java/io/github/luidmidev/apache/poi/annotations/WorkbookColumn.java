@@ -0,0 +1,36 @@
+package io.github.luidmidev.apache.poi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the column of a record component or bean property mapped automatically, see
+ * {@link io.github.luidmidev.apache.poi.WorkbookListMapper#fromRecords(Iterable, Class)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.RECORD_COMPONENT, ElementType.FIELD, ElementType.METHOD})
+public @interface WorkbookColumn {
+
+    /**
+     * The header of the column, by default the name of the property split into capitalized words, for example
+     * "Last Name" for lastName.
+     */
+    String value() default "";
+
+    /**
+     * The position of the column, columns with the same order keep their declaration order.
+     */
+    int order() default Integer.MAX_VALUE;
+
+    /**
+     * The data format of the cells, for example "#,##0.00" or "dd/mm/yyyy".
+     */
+    String format() default "";
+
+    /**
+     * Whether the property is not mapped.
+     */
+    boolean ignore() default false;
+}
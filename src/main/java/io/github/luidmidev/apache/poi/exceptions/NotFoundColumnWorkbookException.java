@@ -0,0 +1,14 @@
+package io.github.luidmidev.apache.poi.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class NotFoundColumnWorkbookException extends WorkbookException {
+
+    private final String column;
+
+    public NotFoundColumnWorkbookException(String column) {
+        super("Column not found in header: " + column);
+        this.column = column;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.luidmidev.apache.poi.functions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Represents an operation that writes some content to an {@link OutputStream}, without closing it.
+ */
+@FunctionalInterface
+public interface ContentWriter {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,20 @@
+package io.github.luidmidev.apache.poi.functions;
+
+/**
+ * Represents the listener of the progress of a mapping, receiving the counts as primitives so reporting them allocates
+ * nothing.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (current, total) -> {
+    };
+
+    /**
+     * Called with the number of rows written.
+     *
+     * @param current the number of rows written
+     * @param total   the total number of rows, or -1 when the size of the data source is unknown
+     */
+    void onProgress(int current, int total);
+}
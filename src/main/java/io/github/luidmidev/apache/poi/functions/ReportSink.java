@@ -0,0 +1,25 @@
+package io.github.luidmidev.apache.poi.functions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Represents the destination of the files of a report batch, opened for each report once its models are mapped and
+ * closed once the file is written.
+ */
+@FunctionalInterface
+public interface ReportSink {
+    OutputStream open(String filename) throws IOException;
+
+    /**
+     * Writes each file to the directory, replacing an existing file of the same name.
+     *
+     * @param directory the directory
+     * @return the sink
+     */
+    static ReportSink directory(Path directory) {
+        return filename -> Files.newOutputStream(directory.resolve(filename));
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.luidmidev.apache.poi.functions;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Represents the source of the content of a template, opened only when the template is not cached yet.
+ */
+@FunctionalInterface
+public interface TemplateSource {
+    InputStream open() throws IOException;
+}
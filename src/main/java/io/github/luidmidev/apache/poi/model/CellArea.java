@@ -0,0 +1,31 @@
+package io.github.luidmidev.apache.poi.model;
+
+/**
+ * Represents the resolved coordinates of a reference, a single cell or a rectangular range of a sheet.
+ *
+ * @param sheetName   the name of the sheet
+ * @param firstRow    the index of the first row
+ * @param firstColumn the index of the first column
+ * @param lastRow     the index of the last row
+ * @param lastColumn  the index of the last column
+ */
+public record CellArea(String sheetName, int firstRow, int firstColumn, int lastRow, int lastColumn) {
+
+    /**
+     * Whether the area is a single cell.
+     *
+     * @return true if the area has only one cell
+     */
+    public boolean isSingleCell() {
+        return firstRow == lastRow && firstColumn == lastColumn;
+    }
+
+    /**
+     * Gets the number of cells of the area.
+     *
+     * @return the number of cells
+     */
+    public int size() {
+        return (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+    }
+}
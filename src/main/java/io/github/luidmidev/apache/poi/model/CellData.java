@@ -0,0 +1,193 @@
+package io.github.luidmidev.apache.poi.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the value of a cell read by a streaming reader, detached from any workbook model.
+ * Formula cells are represented by the type and value of their cached result.
+ */
+@Getter
+public final class CellData {
+
+    private final int rowIndex;
+    private final int columnIndex;
+    private final CellType type;
+    private final String text;
+    private final double number;
+    private final boolean bool;
+    private final int formatIndex;
+    private final String formatString;
+    private final boolean date1904;
+    @Getter(AccessLevel.NONE)
+    private final DataFormatter formatter;
+
+    private CellData(int rowIndex, int columnIndex, CellType type, String text, double number, boolean bool, int formatIndex, String formatString, boolean date1904, DataFormatter formatter) {
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.type = type;
+        this.text = text;
+        this.number = number;
+        this.bool = bool;
+        this.formatIndex = formatIndex;
+        this.formatString = formatString;
+        this.date1904 = date1904;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Creates a cell holding a string value.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @param text the string value
+     * @return the cell data
+     */
+    public static CellData ofString(int rowIndex, int columnIndex, String text) {
+        return new CellData(rowIndex, columnIndex, CellType.STRING, text, 0, false, 0, null, false, null);
+    }
+
+    /**
+     * Creates a cell holding a numeric value with its display format.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @param number the numeric value
+     * @param formatIndex the index of the data format
+     * @param formatString the data format
+     * @param date1904 whether the workbook uses the 1904 date system
+     * @param formatter the formatter used to render the value as text
+     * @return the cell data
+     */
+    public static CellData ofNumber(int rowIndex, int columnIndex, double number, int formatIndex, String formatString, boolean date1904, DataFormatter formatter) {
+        return new CellData(rowIndex, columnIndex, CellType.NUMERIC, null, number, false, formatIndex, formatString, date1904, formatter);
+    }
+
+    /**
+     * Creates a cell holding a boolean value.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @param bool the boolean value
+     * @return the cell data
+     */
+    public static CellData ofBoolean(int rowIndex, int columnIndex, boolean bool) {
+        return new CellData(rowIndex, columnIndex, CellType.BOOLEAN, null, 0, bool, 0, null, false, null);
+    }
+
+    /**
+     * Creates a cell holding an error value.
+     * @param rowIndex the index of the row
+     * @param columnIndex the index of the column
+     * @param text the error text, for example #DIV/0!
+     * @return the cell data
+     */
+    public static CellData ofError(int rowIndex, int columnIndex, String text) {
+        return new CellData(rowIndex, columnIndex, CellType.ERROR, text, 0, false, 0, null, false, null);
+    }
+
+    /**
+     * Whether the cell has no value or an empty string.
+     * @return true if the cell is blank
+     */
+    public boolean isBlank() {
+        return type == CellType.BLANK || type == CellType.STRING && text.isEmpty();
+    }
+
+    /**
+     * Whether the cell is numeric and formatted as a date.
+     * @return true if the cell holds a date
+     */
+    public boolean isDate() {
+        return type == CellType.NUMERIC && formatString != null && DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(number);
+    }
+
+    /**
+     * Gets the value as it is displayed by the spreadsheet application.
+     * @return the formatted value
+     */
+    public String asString() {
+        return switch (type) {
+            case NUMERIC -> formatter.formatRawCellContents(number, formatIndex, formatString == null ? "General" : formatString, date1904);
+            case BOOLEAN -> bool ? "TRUE" : "FALSE";
+            case STRING, ERROR -> text;
+            default -> "";
+        };
+    }
+
+    /**
+     * Gets the value as a number, strings are parsed.
+     * @return the numeric value
+     * @throws NumberFormatException if the value is a string that is not a number
+     * @throws IllegalStateException if the value is an error
+     */
+    public double asDouble() {
+        return switch (type) {
+            case NUMERIC -> number;
+            case BOOLEAN -> bool ? 1 : 0;
+            case STRING -> text.isBlank() ? 0 : Double.parseDouble(text.trim());
+            case ERROR -> throw new IllegalStateException("Cell " + columnIndex + " of row " + rowIndex + " has an error value: " + text);
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the value as an int, truncating decimals.
+     * @return the int value
+     */
+    public int asInt() {
+        return (int) asDouble();
+    }
+
+    /**
+     * Gets the value as a long, truncating decimals.
+     * @return the long value
+     */
+    public long asLong() {
+        return (long) asDouble();
+    }
+
+    /**
+     * Gets the value as a boolean, numbers other than zero and the string "true" (ignoring case) are true.
+     * @return the boolean value
+     */
+    public boolean asBoolean() {
+        return switch (type) {
+            case BOOLEAN -> bool;
+            case NUMERIC -> number != 0;
+            case STRING -> Boolean.parseBoolean(text.trim());
+            default -> false;
+        };
+    }
+
+    /**
+     * Gets the numeric value as a date time.
+     * @return the date time, or null if the cell is blank
+     * @throws IllegalStateException if the value is not numeric
+     */
+    public LocalDateTime asLocalDateTime() {
+        if (isBlank()) return null;
+        if (type != CellType.NUMERIC) {
+            throw new IllegalStateException("Cell " + columnIndex + " of row " + rowIndex + " is not numeric: " + type);
+        }
+        return DateUtil.getLocalDateTime(number, date1904);
+    }
+
+    /**
+     * Gets the numeric value as a date.
+     * @return the date, or null if the cell is blank
+     * @throws IllegalStateException if the value is not numeric
+     */
+    public LocalDate asLocalDate() {
+        var dateTime = asLocalDateTime();
+        return dateTime == null ? null : dateTime.toLocalDate();
+    }
+
+    @Override
+    public String toString() {
+        return "CellData[" + rowIndex + ", " + columnIndex + ", " + type + ", " + asString() + "]";
+    }
+}
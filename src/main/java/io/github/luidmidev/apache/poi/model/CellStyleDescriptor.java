@@ -0,0 +1,53 @@
+package io.github.luidmidev.apache.poi.model;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Color;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * Represents the attributes set on a cell style, independent of any workbook. Null attributes keep the value of a new
+ * cell style, so two descriptors are equal when they produce the same style.
+ *
+ * @param borderTop              the top border
+ * @param borderRight            the right border
+ * @param borderBottom           the bottom border
+ * @param borderLeft             the left border
+ * @param alignment              the horizontal alignment
+ * @param verticalAlignment      the vertical alignment
+ * @param wrapText               whether the text is wrapped
+ * @param foregroundColorIndex   the indexed foreground color
+ * @param foregroundColor        the foreground color of a specific workbook format
+ * @param foregroundRgb          the foreground color as 0xRRGGBB, resolved for each workbook
+ * @param fillPattern            the fill pattern of the foreground color
+ * @param dataFormat             the data format, for example "#,##0.00" or "yyyy-mm-dd"
+ * @param font                   the font, or null to keep the default font of the workbook
+ */
+public record CellStyleDescriptor(
+        BorderStyle borderTop,
+        BorderStyle borderRight,
+        BorderStyle borderBottom,
+        BorderStyle borderLeft,
+        HorizontalAlignment alignment,
+        VerticalAlignment verticalAlignment,
+        boolean wrapText,
+        Short foregroundColorIndex,
+        Color foregroundColor,
+        Integer foregroundRgb,
+        FillPatternType fillPattern,
+        String dataFormat,
+        FontDescriptor font
+) {
+
+    /**
+     * Represents the attributes set on a font, null attributes keep the value of a new font.
+     *
+     * @param color          the indexed color
+     * @param bold           whether the font is bold
+     * @param heightInPoints the height in points
+     * @param name           the font name
+     */
+    public record FontDescriptor(Short color, boolean bold, Short heightInPoints, String name) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.luidmidev.apache.poi.model;
+
+/**
+ * Represents how the formulas of a workbook are evaluated before it is written
+ */
+public enum FormulaEvaluationPolicy {
+
+    /**
+     * Formulas are not evaluated, cached results are written as they are
+     */
+    NONE,
+    /**
+     * Formulas are not evaluated, the workbook is flagged so the spreadsheet application recalculates them when it is opened
+     */
+    FORCE_RECALC_ON_OPEN,
+    /**
+     * Every formula of the workbook is evaluated from scratch on each write
+     */
+    ALL,
+    /**
+     * Every formula is evaluated on the first write, later writes only re-evaluate the formulas whose precedents were
+     * reported as written since the previous one
+     */
+    DIRTY_ONLY
+}
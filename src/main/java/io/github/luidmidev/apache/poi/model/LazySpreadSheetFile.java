@@ -0,0 +1,53 @@
+package io.github.luidmidev.apache.poi.model;
+
+import io.github.luidmidev.apache.poi.functions.ContentWriter;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Represents a spreadsheet file whose content is produced on demand by a {@link ContentWriter} instead of being held in memory.
+ * Use {@link #writeTo(OutputStream)} to stream the content, {@link #getContent()} materializes it on every call.
+ */
+@Getter
+public final class LazySpreadSheetFile extends SpreadSheetFile {
+
+    private final ContentWriter contentWriter;
+
+    public LazySpreadSheetFile(String filename, WorkbookType type, ContentWriter contentWriter) {
+        this.contentWriter = contentWriter;
+        setFilename(filename);
+        setType(type);
+    }
+
+    /**
+     * Materializes the content of the file, unless it was explicitly set.
+     * @return the content of the file
+     * @throws UncheckedIOException if an I/O error occurs while writing the content
+     */
+    @Override
+    public byte[] getContent() {
+        var content = super.getContent();
+        if (content != null) return content;
+
+        var bos = new ByteArrayOutputStream();
+        try {
+            contentWriter.writeTo(bos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (super.getContent() != null) {
+            super.writeTo(outputStream);
+            return;
+        }
+        contentWriter.writeTo(outputStream);
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.luidmidev.apache.poi.model;
+
+/**
+ * Represents how a workbook file is opened. In every mode the file itself is never modified, the workbook is written
+ * elsewhere with the write methods of the manager.
+ */
+public enum OpenMode {
+
+    /**
+     * The whole file is read into memory and closed right away.
+     */
+    IN_MEMORY,
+
+    /**
+     * The entries of the file are read on demand, so only the parsed parts take heap. The file stays open until the
+     * manager is closed.
+     */
+    FILE_BACKED,
+
+    /**
+     * As {@link #FILE_BACKED}, for extraction only: an XLSX workbook opened this way can not be written.
+     */
+    READ_ONLY
+}
@@ -0,0 +1,38 @@
+package io.github.luidmidev.apache.poi.model;
+
+import java.time.Duration;
+
+/**
+ * Represents the outcome of a report generated by a batch executor.
+ *
+ * @param name           the name of the report
+ * @param streaming      whether the report was generated with a streaming workbook
+ * @param estimatedBytes the heap reserved for the report
+ * @param queued         the time waiting for heap budget
+ * @param mapping        the time mapping the models
+ * @param writing        the time writing the file to the sink
+ * @param filename       the name of the file given to the sink, null if the report failed before it was written
+ * @param size           the number of bytes written to the sink
+ * @param error          the error of the report, null if it succeeded
+ */
+public record ReportResult(
+        String name,
+        boolean streaming,
+        long estimatedBytes,
+        Duration queued,
+        Duration mapping,
+        Duration writing,
+        String filename,
+        long size,
+        Throwable error
+) {
+
+    /**
+     * Whether the report was generated.
+     *
+     * @return true if there was no error
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
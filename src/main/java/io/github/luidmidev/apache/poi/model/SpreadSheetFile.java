@@ -4,6 +4,9 @@ package io.github.luidmidev.apache.poi.model;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Represents a spreadsheet file
  */
@@ -13,4 +16,13 @@ public class SpreadSheetFile {
     private String filename;
     private WorkbookType type;
     private byte[] content;
+
+    /**
+     * Writes the content of the file to the output stream, the stream is not closed.
+     * @param outputStream the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(getContent());
+    }
 }
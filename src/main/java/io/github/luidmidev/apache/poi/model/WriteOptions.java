@@ -0,0 +1,84 @@
+package io.github.luidmidev.apache.poi.model;
+
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * Represents how the package of an XLSX workbook is compressed when it is written, XLS workbooks are not compressed.
+ *
+ * @param compressionLevel the deflate level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+ *                         or {@link Deflater#DEFAULT_COMPRESSION}
+ * @param stored           whether the entries are stored without compression
+ * @param zip64Mode        when the zip64 extensions are used
+ * @param deflateExecutor  the executor compressing the entries in parallel, or null to compress them in sequence
+ */
+public record WriteOptions(int compressionLevel, boolean stored, Zip64Mode zip64Mode, Executor deflateExecutor) {
+
+    /**
+     * The options used by default, those of POI.
+     */
+    public static final WriteOptions DEFAULT = new WriteOptions(Deflater.DEFAULT_COMPRESSION, false, Zip64Mode.AsNeeded, null);
+
+    public WriteOptions {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        if (zip64Mode == null) throw new IllegalArgumentException("The zip64 mode is required");
+    }
+
+    /**
+     * Sets the deflate level, 1 is the fastest and 9 the smallest.
+     *
+     * @param compressionLevel the deflate level
+     * @return the new options
+     */
+    public WriteOptions withCompressionLevel(int compressionLevel) {
+        return new WriteOptions(compressionLevel, false, zip64Mode, deflateExecutor);
+    }
+
+    /**
+     * Stores the entries without compression, the fastest to write and the largest. The package is first written in
+     * memory, see {@link #isRepacked()}.
+     *
+     * @return the new options
+     */
+    public WriteOptions withStoredEntries() {
+        return new WriteOptions(compressionLevel, true, zip64Mode, deflateExecutor);
+    }
+
+    /**
+     * Sets when the zip64 extensions are used.
+     *
+     * @param zip64Mode the zip64 mode
+     * @return the new options
+     */
+    public WriteOptions withZip64Mode(Zip64Mode zip64Mode) {
+        return new WriteOptions(compressionLevel, stored, zip64Mode, deflateExecutor);
+    }
+
+    /**
+     * Compresses the entries, such as the sheets, shared strings and styles, in parallel on the executor. The entries
+     * keep their order and a fixed modification time, so the same workbook always gives the same archive. The package
+     * is first written in memory, see {@link #isRepacked()}.
+     *
+     * @param deflateExecutor the executor
+     * @return the new options
+     */
+    public WriteOptions withParallelDeflate(Executor deflateExecutor) {
+        return new WriteOptions(compressionLevel, stored, zip64Mode, deflateExecutor);
+    }
+
+    /**
+     * Whether the package of an XLSX workbook is written uncompressed in memory first and then compressed entry by
+     * entry. Writing then needs about the uncompressed size of the package in heap, plus the entries being compressed.
+     * Streaming workbooks are never repacked, they keep writing straight to the output, deflating stored entries
+     * without compression and compressing the entries in sequence.
+     *
+     * @return true if the entries are stored or compressed in parallel
+     */
+    public boolean isRepacked() {
+        return stored || deflateExecutor != null;
+    }
+}
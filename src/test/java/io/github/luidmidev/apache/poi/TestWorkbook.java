@@ -1,13 +1,41 @@
 package io.github.luidmidev.apache.poi;
 
+import io.github.luidmidev.apache.poi.annotations.WorkbookColumn;
+import io.github.luidmidev.apache.poi.functions.ReportSink;
+import io.github.luidmidev.apache.poi.functions.TemplateSource;
+import io.github.luidmidev.apache.poi.exceptions.MultipleCellsWorkbookException;
+import io.github.luidmidev.apache.poi.exceptions.NotFoundSheetWorkbookException;
+import io.github.luidmidev.apache.poi.exceptions.WorkbookException;
+import io.github.luidmidev.apache.poi.model.CellArea;
+import io.github.luidmidev.apache.poi.model.FormulaEvaluationPolicy;
+import io.github.luidmidev.apache.poi.model.OpenMode;
+import io.github.luidmidev.apache.poi.model.ReportResult;
 import io.github.luidmidev.apache.poi.model.SpreadSheetFile;
+import io.github.luidmidev.apache.poi.model.WorkbookType;
+import io.github.luidmidev.apache.poi.model.WriteOptions;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 class TestWorkbook {
 
@@ -84,7 +112,7 @@ class TestWorkbook {
         var workbookForReport = WorkbookListMapper.from(persons, wookbook, 3, 2)
                 .map((manager, configuration) -> configuration
                         .configureSheet(sheet -> sheet.setColumnWidth(0, 5000))
-                        .onProgress((current, total) -> System.out.println("Progress: " + current + " of " + total))
+                        .withProgressListener((current, total) -> System.out.println("Progress: " + current + " of " + total))
                         .withColumn("Name", Person::name)
                         .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
                         .withColumn("Age", Person::age)
@@ -107,6 +135,875 @@ class TestWorkbook {
     }
 
 
+    @Test
+    void fromStreaming() throws Exception {
+
+        var persons = new ArrayList<Person>();
+        for (var i = 0; i < 10000; i++) {
+            persons.add(new Person("Juan", 12, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var currentTimeMillis = System.currentTimeMillis();
+
+        var workbookForReport = WorkbookListMapper.from(persons, WorkbookManager.streaming(100, true))
+                .map((manager, configuration) -> configuration
+                        .withColumn("Name", Person::name)
+                        .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
+                        .withColumn("Age", Person::age)
+                        .trackColumnsForAutoSizing()
+                        .configureSheet(sheet -> CellStylizer.autoSizeColumns(sheet, 0, 2, 1.1))
+                );
+
+        try (workbookForReport) {
+            Assertions.assertTrue(workbookForReport.isStreaming());
+
+            var spreadsheet = workbookForReport.getSpreadsheet("PersonsStreaming");
+            try (var read = new WorkbookManager(spreadsheet.getContent())) {
+                var sheet = read.getWorkbook().getSheetAt(0);
+                Assertions.assertEquals(persons.size(), sheet.getLastRowNum());
+                Assertions.assertEquals("Complete Name", sheet.getRow(0).getCell(1).getStringCellValue());
+                Assertions.assertEquals("Juan 9999 Doe", sheet.getRow(persons.size()).getCell(1).getStringCellValue());
+            }
+        }
+
+        System.out.println("Time on generate streaming report: " + (System.currentTimeMillis() - currentTimeMillis));
+    }
+
+
+    @Test
+    void fromParallel() throws Exception {
+
+        var persons = new ArrayList<Person>();
+        for (var i = 0; i < 10000; i++) {
+            persons.add(new Person("Juan", i, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var progress = new ArrayList<Integer>();
+        var workbookForReport = WorkbookListMapper.from(persons.stream(), WorkbookManager.streaming())
+                .map((manager, configuration) -> configuration
+                        .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
+                        .withColumn("Age", Person::age)
+                        .withColumn("Row", (person, rowNum) -> rowNum)
+                        .withProgressListener((written, total) -> progress.add(written))
+                        .autoSizeColumns(1, 10)
+                        .parallel(ForkJoinPool.commonPool(), 1000)
+                );
+
+        try (workbookForReport) {
+            var spreadsheet = workbookForReport.getSpreadsheet("PersonsParallel");
+            try (var read = new WorkbookManager(spreadsheet.getContent())) {
+                var sheet = read.getWorkbook().getSheetAt(0);
+                Assertions.assertEquals(persons.size(), sheet.getLastRowNum());
+                Assertions.assertEquals(("Juan 9999 Doe".length() + 1) * 256, sheet.getColumnWidth(0));
+                Assertions.assertEquals(("9990".length() + 1) * 256, sheet.getColumnWidth(1));
+                for (var i = 0; i < persons.size(); i++) {
+                    var row = sheet.getRow(i + 1);
+                    Assertions.assertEquals("Juan " + i + " Doe", row.getCell(0).getStringCellValue());
+                    Assertions.assertEquals(i, row.getCell(1).getNumericCellValue());
+                    Assertions.assertEquals(i + 1, row.getCell(2).getNumericCellValue());
+                }
+            }
+        }
+        Assertions.assertEquals(persons.size(), progress.size());
+        Assertions.assertEquals(persons.size(), progress.get(progress.size() - 1));
+    }
+
+    @Test
+    void fromPartitionedConcurrently() throws Exception {
+
+        var persons = new ArrayList<Person>();
+        for (var i = 0; i < 10000; i++) {
+            persons.add(new Person("Juan", i, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var workbookForReport = WorkbookListMapper.from(persons.iterator(), WorkbookManager.streaming())
+                .map((manager, configuration) -> configuration
+                        .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
+                        .withColumn("Age", Person::age)
+                        .withHeaderStyle(CellStylizer.init().center())
+                        .rowsPerSheet(3000)
+                        .sheetNames("Persons %d")
+                        .concurrentSheets(ForkJoinPool.commonPool())
+                );
+
+        try (workbookForReport) {
+            var spreadsheet = workbookForReport.getSpreadsheet("PersonsPartitioned");
+            try (var read = new WorkbookManager(spreadsheet.getContent())) {
+                var workbook = read.getWorkbook();
+                Assertions.assertEquals(4, workbook.getNumberOfSheets());
+                var age = 0;
+                for (var i = 0; i < workbook.getNumberOfSheets(); i++) {
+                    var sheet = workbook.getSheetAt(i);
+                    Assertions.assertEquals("Persons " + (i + 1), sheet.getSheetName());
+                    Assertions.assertEquals("Age", sheet.getRow(0).getCell(1).getStringCellValue());
+                    Assertions.assertEquals(workbook.getSheetAt(0).getRow(0).getCell(1).getCellStyle().getIndex(), sheet.getRow(0).getCell(1).getCellStyle().getIndex());
+                    for (var row = 1; row <= sheet.getLastRowNum(); row++) {
+                        Assertions.assertEquals(age++, sheet.getRow(row).getCell(1).getNumericCellValue());
+                    }
+                }
+                Assertions.assertEquals(persons.size(), age);
+                Assertions.assertEquals(1000, workbook.getSheetAt(3).getLastRowNum());
+            }
+        }
+    }
+
+    @Test
+    void concurrentSheetsBoundedReadAhead() throws Exception {
+        var read = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var models = Stream.generate(() -> new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"))
+                .limit(20000)
+                .peek(person -> read.incrementAndGet());
+
+        var writers = Executors.newCachedThreadPool();
+        try {
+            var future = WorkbookListMapper.from(models, WorkbookManager.streaming())
+                    .mapAsync((ignored, configuration) -> configuration
+                            .withColumn("Name", Person::name)
+                            .forEachRow((row, person) -> {
+                                try {
+                                    Assertions.assertTrue(release.await(10, TimeUnit.SECONDS));
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            })
+                            .rowsPerSheet(10000)
+                            .concurrentSheets(writers, 2048), ForkJoinPool.commonPool());
+
+            Thread.sleep(500);
+            // Two buffered chunks, the chunk taken by the blocked writer and the chunk waiting for a permit
+            Assertions.assertTrue(read.get() <= 4 * 1024, "Rows read ahead: " + read.get());
+            release.countDown();
+
+            try (var manager = future.get(30, TimeUnit.SECONDS)) {
+                Assertions.assertEquals(2, manager.getWorkbook().getNumberOfSheets());
+                Assertions.assertEquals(20000, read.get());
+            }
+        } finally {
+            release.countDown();
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void autoRowHeight() throws Exception {
+        var persons = List.of(
+                new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"),
+                new Person("Ana", 30, "Quito\nEcuador", "222@aa.com", "654321", "Perez\nLopez\nRuiz")
+        );
+
+        try (var manager = WorkbookListMapper.from(persons).map((ignored, configuration) -> configuration
+                .withColumn("Address", Person::address, CellStylizer.init().fontSize(20))
+                .withColumn("Last Name", Person::lastName)
+                .autoRowHeight()
+        )) {
+            var sheet = manager.getWorkbook().getSheetAt(0);
+            Assertions.assertEquals(sheet.getDefaultRowHeightInPoints(), sheet.getRow(1).getHeightInPoints());
+            // the two lines of 20 points are taller than the three lines of the default 11 points font
+            Assertions.assertEquals(2 * 20 * 1.2f, sheet.getRow(2).getHeightInPoints(), 0.01);
+        }
+    }
+
+    @Test
+    void typedColumns() throws Exception {
+        var persons = List.of(
+                new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"),
+                new Person(null, 30, "Quito", "222@aa.com", "654321", "Perez")
+        );
+
+        for (var parallel : List.of(false, true)) {
+            try (var manager = WorkbookListMapper.from(persons).map((ignored, configuration) -> {
+                configuration
+                        .withStringColumn("Name", Person::name)
+                        .withIntColumn("Age", Person::age)
+                        .withNumberColumn("Half Age", person -> person.age() / 2.0)
+                        .withBooleanColumn("Adult", person -> person.age() >= 18)
+                        .withDateColumn("Birth", person -> LocalDate.of(2000 - person.age(), 1, 1));
+                if (parallel) configuration.parallel();
+            })) {
+                var row = manager.getWorkbook().getSheetAt(0).getRow(2);
+                Assertions.assertEquals("", row.getCell(0).getStringCellValue());
+                Assertions.assertEquals(30, row.getCell(1).getNumericCellValue());
+                Assertions.assertEquals(15, row.getCell(2).getNumericCellValue());
+                Assertions.assertTrue(row.getCell(3).getBooleanCellValue());
+                Assertions.assertEquals(LocalDate.of(1970, 1, 1).atStartOfDay(), row.getCell(4).getLocalDateTimeCellValue());
+            }
+        }
+    }
+
+    @Test
+    void fromRecordsAndBeans() throws Exception {
+        var sales = List.of(
+                new Sale(1, "Juan Doe", 1234.5, true, LocalDate.of(2024, 5, 1), "secret"),
+                new Sale(2, "Ana Perez", 10, false, LocalDate.of(2024, 5, 2), "secret")
+        );
+
+        try (var manager = WorkbookListMapper.fromRecords(sales, Sale.class).map((ignored, configuration) -> configuration
+                .withColumn("Extra", sale -> "x"))) {
+            var sheet = manager.getWorkbook().getSheetAt(0);
+            var header = sheet.getRow(0);
+            Assertions.assertEquals("Id", header.getCell(0).getStringCellValue());
+            Assertions.assertEquals("Customer Name", header.getCell(1).getStringCellValue());
+            Assertions.assertEquals("Total", header.getCell(2).getStringCellValue());
+            Assertions.assertEquals("Paid", header.getCell(3).getStringCellValue());
+            Assertions.assertEquals("Date", header.getCell(4).getStringCellValue());
+            Assertions.assertEquals("Extra", header.getCell(5).getStringCellValue());
+
+            var row = sheet.getRow(1);
+            Assertions.assertEquals(1, row.getCell(0).getNumericCellValue());
+            Assertions.assertEquals("Juan Doe", row.getCell(1).getStringCellValue());
+            Assertions.assertEquals(1234.5, row.getCell(2).getNumericCellValue());
+            Assertions.assertEquals("#,##0.00", row.getCell(2).getCellStyle().getDataFormatString());
+            Assertions.assertTrue(row.getCell(3).getBooleanCellValue());
+            Assertions.assertEquals(LocalDate.of(2024, 5, 1).atStartOfDay(), row.getCell(4).getLocalDateTimeCellValue());
+            Assertions.assertEquals("yyyy-mm-dd", row.getCell(4).getCellStyle().getDataFormatString());
+        }
+
+        var bean = new TestWorkbookListReader.PersonRow();
+        bean.setName("Juan");
+        bean.setAge(12);
+        bean.setLastName("Doe");
+        try (var manager = WorkbookListMapper.fromBeans(List.of(bean), TestWorkbookListReader.PersonRow.class).map((ignored, configuration) -> {
+        })) {
+            var sheet = manager.getWorkbook().getSheetAt(0);
+            Assertions.assertEquals("Last Name", sheet.getRow(0).getCell(2).getStringCellValue());
+            Assertions.assertEquals(12, sheet.getRow(1).getCell(1).getNumericCellValue());
+            Assertions.assertEquals("", sheet.getRow(1).getCell(3).getStringCellValue());
+        }
+    }
+
+    @Test
+    void writeTo(@TempDir Path directory) throws Exception {
+
+        var persons = new ArrayList<Person>();
+        for (var i = 0; i < 1000; i++) {
+            persons.add(new Person("Juan", 12, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var workbookForReport = WorkbookListMapper.from(persons)
+                .map((manager, configuration) -> configuration
+                        .withColumn("Name", Person::name)
+                        .withColumn("Age", Person::age)
+                );
+
+        try (workbookForReport) {
+            var spreadsheet = workbookForReport.getLazySpreadsheet("Persons");
+            var path = directory.resolve(spreadsheet.getFilename());
+
+            try (var outputStream = Files.newOutputStream(path)) {
+                spreadsheet.writeTo(outputStream);
+            }
+
+            try (var read = new WorkbookManager(Files.readAllBytes(path))) {
+                Assertions.assertEquals(persons.size(), read.getWorkbook().getSheetAt(0).getLastRowNum());
+            }
+
+            var copyPath = directory.resolve("copy.xlsx");
+            workbookForReport.writeTo(copyPath);
+            Assertions.assertTrue(Files.size(copyPath) > 0);
+        }
+    }
+
+
+    @Test
+    void fromStreamIntoTemplate() throws Exception {
+
+        var persons = new ArrayList<Person>();
+        for (var i = 0; i < 3000; i++) {
+            persons.add(new Person("Juan", 12, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var progress = new ArrayList<Integer>();
+        var fromList = mapIntoTemplate(WorkbookListMapper.from(persons, templateManager(), 3, 2), null);
+        var fromStream = mapIntoTemplate(WorkbookListMapper.from(persons.stream(), templateManager(), 3, 2), progress);
+
+        try (fromList; fromStream) {
+            var expected = fromList.getWorkbook().getSheetAt(0);
+            var actual = fromStream.getWorkbook().getSheetAt(0);
+            Assertions.assertEquals(expected.getLastRowNum(), actual.getLastRowNum());
+            for (var rowIndex = 0; rowIndex <= expected.getLastRowNum(); rowIndex++) {
+                var expectedRow = expected.getRow(rowIndex);
+                var actualRow = actual.getRow(rowIndex);
+                Assertions.assertEquals(expectedRow == null, actualRow == null, "Row " + rowIndex);
+                if (expectedRow == null) continue;
+                for (var cell : expectedRow) {
+                    Assertions.assertEquals(cell.toString(), String.valueOf(actualRow.getCell(cell.getColumnIndex())), cell.getAddress().toString());
+                }
+            }
+            Assertions.assertEquals(persons.size(), progress.size());
+        }
+    }
+
+    @Test
+    void templateFooterRelocatedOnce() throws Exception {
+        var persons = List.of(
+                new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"),
+                new Person("Ana", 30, "Quito", "222@aa.com", "654321", "Perez")
+        );
+
+        for (var fromStream : new boolean[]{false, true}) {
+            try (var template = new WorkbookManager()) {
+                var sheet = template.getWorkbook().createSheet("Data");
+                sheet.createRow(0).createCell(0).setCellValue("Report");
+                var footer = sheet.createRow(1);
+                footer.createCell(0).setCellValue(10);
+                footer.createCell(1).setCellFormula("A2*2");
+                sheet.createRow(2).createCell(0).setCellValue("Signature");
+                sheet.addMergedRegion(CellRangeAddress.valueOf("A3:B3"));
+                var name = template.getWorkbook().createName();
+                name.setNameName("Footer");
+                name.setRefersToFormula("Data!$A$2");
+
+                var mapper = fromStream ? WorkbookListMapper.from(persons.stream(), template, 1, 0) : WorkbookListMapper.from(persons, template, 1, 0);
+                try (var manager = mapper.map((ignored, configuration) -> configuration.withColumn("Name", Person::name))) {
+                    Assertions.assertEquals("Name", sheet.getRow(1).getCell(0).getStringCellValue());
+                    Assertions.assertEquals("Ana", sheet.getRow(3).getCell(0).getStringCellValue());
+                    Assertions.assertEquals(10, sheet.getRow(4).getCell(0).getNumericCellValue());
+                    Assertions.assertEquals("A5*2", sheet.getRow(4).getCell(1).getCellFormula());
+                    Assertions.assertEquals("Signature", sheet.getRow(5).getCell(0).getStringCellValue());
+                    Assertions.assertEquals("A6:B6", sheet.getMergedRegion(0).formatAsString());
+                    Assertions.assertEquals("Data!$A$5", manager.getWorkbook().getName("Footer").getRefersToFormula());
+                    Assertions.assertEquals(5, sheet.getLastRowNum());
+                }
+            }
+        }
+    }
+
+    @Test
+    void templateFooterAtSheetLimit() throws Exception {
+        var maxRows = SpreadsheetVersion.EXCEL97.getMaxRows();
+        // Header at row 1, two footer rows moved below the data, so the sheet holds 65532 data rows
+        var persons = Stream.generate(() -> new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe")).limit(maxRows - 4 + 1).toList();
+
+        for (var fromStream : new boolean[]{false, true}) {
+            try (var template = new WorkbookManager(WorkbookType.XLS)) {
+                var sheet = template.getWorkbook().createSheet("Data");
+                sheet.createRow(0).createCell(0).setCellValue("Report");
+                sheet.createRow(1).createCell(0).setCellValue("Total");
+                sheet.createRow(2).createCell(0).setCellValue("Signature");
+
+                var mapper = fromStream ? WorkbookListMapper.from(persons.stream(), template, 1, 0) : WorkbookListMapper.from(persons, template, 1, 0);
+                try (var manager = mapper.map((ignored, configuration) -> configuration.withColumn("Name", Person::name))) {
+                    Assertions.assertEquals("Juan", sheet.getRow(maxRows - 3).getCell(0).getStringCellValue());
+                    Assertions.assertEquals("Total", sheet.getRow(maxRows - 2).getCell(0).getStringCellValue());
+                    Assertions.assertEquals("Signature", sheet.getRow(maxRows - 1).getCell(0).getStringCellValue());
+                    Assertions.assertEquals(maxRows - 1, sheet.getLastRowNum());
+
+                    var next = manager.getWorkbook().getSheetAt(1);
+                    Assertions.assertEquals(2, next.getLastRowNum());
+                    Assertions.assertEquals("Juan", next.getRow(2).getCell(0).getStringCellValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    void noRoomForDataRows() throws Exception {
+        var maxRows = SpreadsheetVersion.EXCEL97.getMaxRows();
+        var persons = List.of(new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"), new Person("Ana", 20, "Quito", "222@aa.com", "654321", "Roe"));
+
+        // The header is the last row of the sheet
+        try (var template = new WorkbookManager(WorkbookType.XLS)) {
+            template.getWorkbook().createSheet("Data");
+            var mapper = WorkbookListMapper.from(persons, template, maxRows - 1, 0);
+            var exception = Assertions.assertThrows(WorkbookException.class, () -> mapper.map((ignored, configuration) -> configuration.withColumn("Name", Person::name)));
+            Assertions.assertTrue(exception.getMessage().contains("no room for data rows"));
+            Assertions.assertEquals(1, template.getWorkbook().getNumberOfSheets());
+        }
+
+        // The footer below the header takes the rows left
+        try (var template = new WorkbookManager(WorkbookType.XLS)) {
+            var sheet = template.getWorkbook().createSheet("Data");
+            sheet.createRow(maxRows - 2).createCell(0).setCellValue("Total");
+            sheet.createRow(maxRows - 1).createCell(0).setCellValue("Signature");
+            var mapper = WorkbookListMapper.from(persons, template, maxRows - 3, 0);
+            Assertions.assertThrows(WorkbookException.class, () -> mapper.map((ignored, configuration) -> configuration.withColumn("Name", Person::name)));
+        }
+
+        // A single data row per sheet still fits
+        try (var template = new WorkbookManager(WorkbookType.XLS)) {
+            template.getWorkbook().createSheet("Data");
+            try (var manager = WorkbookListMapper.from(persons, template, maxRows - 2, 0).map((ignored, configuration) -> configuration.withColumn("Name", Person::name))) {
+                Assertions.assertEquals(2, manager.getWorkbook().getNumberOfSheets());
+                Assertions.assertEquals("Ana", manager.getWorkbook().getSheetAt(1).getRow(maxRows - 1).getCell(0).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    void templateCache() throws Exception {
+        TemplateSource source = () -> getClass().getClassLoader().getResourceAsStream("sample_with_header_and_footer.xlsx");
+        try (var cache = new TemplateCache(1, TemplateCache.DEFAULT_MAX_BYTES, 2, Runnable::run)) {
+            try (var first = cache.get("sample", source); var second = cache.get("sample", source); var expected = templateManager()) {
+                first.getWorkbook().getSheetAt(0).createRow(100).createCell(0).setCellValue("Only in the first");
+                Assertions.assertNull(second.getWorkbook().getSheetAt(0).getRow(100));
+                Assertions.assertEquals(expected.getWorkbook().getSheetAt(0).getLastRowNum(), second.getWorkbook().getSheetAt(0).getLastRowNum());
+            }
+            var stats = cache.getStats();
+            Assertions.assertEquals(1, stats.hits());
+            Assertions.assertEquals(1, stats.misses());
+            Assertions.assertEquals(1, stats.templates());
+
+            byte[] content;
+            try (var manager = new WorkbookManager()) {
+                manager.getWorkbook().createSheet("Other");
+                content = manager.getInputStream().readAllBytes();
+            }
+            try (var other = cache.get(content); var same = cache.get(content)) {
+                Assertions.assertEquals("Other", other.getWorkbook().getSheetName(0));
+                Assertions.assertEquals("Other", same.getWorkbook().getSheetName(0));
+            }
+            stats = cache.getStats();
+            Assertions.assertEquals(2, stats.hits());
+            Assertions.assertEquals(2, stats.misses());
+            Assertions.assertEquals(1, stats.evictions());
+            Assertions.assertEquals(1, stats.templates());
+            Assertions.assertEquals(0.5, stats.hitRatio());
+        }
+
+        var executions = new AtomicInteger();
+        java.util.concurrent.Executor rejectingOnce = command -> {
+            if (executions.incrementAndGet() == 1) throw new java.util.concurrent.RejectedExecutionException("Busy");
+            command.run();
+        };
+        try (var cache = new TemplateCache(1, TemplateCache.DEFAULT_MAX_BYTES, 1, rejectingOnce)) {
+            try (var first = cache.get("sample", source); var second = cache.get("sample", source)) {
+                Assertions.assertNotSame(first, second);
+            }
+            Assertions.assertEquals(2, executions.get());
+        }
+    }
+
+    private WorkbookManager templateManager() throws IOException {
+        return new WorkbookManager(getClass().getClassLoader().getResourceAsStream("sample_with_header_and_footer.xlsx"));
+    }
+
+    private WorkbookManager mapIntoTemplate(WorkbookListMapper<Person> mapper, List<Integer> progress) throws Exception {
+        return mapper.map((manager, configuration) -> configuration
+                .withProgressListener((current, total) -> {
+                    if (progress != null) progress.add(total);
+                })
+                .withColumn("Name", Person::name)
+                .withColumn("Complete Name", person -> person.name() + " " + person.lastName())
+        );
+    }
+
+    @Test
+    void copy() throws Exception {
+        for (var type : new WorkbookType[]{WorkbookType.XLSX, WorkbookType.XLS}) {
+            try (var manager = new WorkbookManager(type)) {
+                var row = manager.getWorkbook().createSheet("Data").createRow(0);
+                row.createCell(0).setCellValue(1);
+                row.createCell(1).setCellFormula("A1*2");
+                manager.setEvaluationPolicy(FormulaEvaluationPolicy.DIRTY_ONLY);
+
+                try (var copy = manager.copy()) {
+                    Assertions.assertEquals(type, copy.getType());
+                    Assertions.assertEquals(FormulaEvaluationPolicy.DIRTY_ONLY, copy.getEvaluationPolicy());
+                    var copiedRow = copy.getWorkbook().getSheet("Data").getRow(0);
+                    Assertions.assertEquals("A1*2", copiedRow.getCell(1).getCellFormula());
+
+                    copy.setCellValue("Data!A1", 5);
+                    copy.writeTo(new ByteArrayOutputStream());
+                    Assertions.assertEquals(10, copiedRow.getCell(1).getNumericCellValue());
+                    Assertions.assertEquals(1, row.getCell(0).getNumericCellValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    void referenceIndex() throws Exception {
+        try (var manager = new WorkbookManager()) {
+            var sheet = manager.getWorkbook().createSheet("Data");
+            for (var rowIndex = 0; rowIndex < 3; rowIndex++) {
+                var row = sheet.createRow(rowIndex);
+                for (var columnIndex = 0; columnIndex < 2; columnIndex++) row.createCell(columnIndex).setCellValue(rowIndex * 10 + columnIndex);
+            }
+            var name = manager.getWorkbook().createName();
+            name.setNameName("Total");
+            name.setRefersToFormula("Data!$B$3");
+
+            var index = manager.getReferenceIndex();
+            Assertions.assertEquals(new CellArea("Data", 2, 1, 2, 1), index.resolve("Total"));
+            Assertions.assertEquals(21, manager.getCell("Total").getNumericCellValue());
+            Assertions.assertSame(manager.getCell("Total"), manager.getCell("Data!B3"));
+
+            var cells = manager.getCells("Data!A2:B3");
+            Assertions.assertEquals(4, cells.length);
+            Assertions.assertEquals(11, cells[1].getNumericCellValue());
+            Assertions.assertEquals(20, cells[2].getNumericCellValue());
+            Assertions.assertThrows(MultipleCellsWorkbookException.class, () -> manager.getCell("Data!A2:B3"));
+            Assertions.assertThrows(NotFoundSheetWorkbookException.class, () -> manager.getCell("Missing!A1"));
+
+            name.setRefersToFormula("Data!$A$1");
+            index.invalidate();
+            Assertions.assertEquals(0, manager.getCell("Total").getNumericCellValue());
+
+            var other = manager.getWorkbook().createName();
+            other.setNameName("First");
+            other.setRefersToFormula("Data!$A$2");
+            Assertions.assertEquals(10, manager.getCell("First").getNumericCellValue());
+
+            sheet.shiftRows(0, 2, 1);
+            manager.resetFormulaTracking();
+            Assertions.assertEquals(new CellArea("Data", 2, 0, 2, 0), index.resolve("First"));
+            Assertions.assertEquals(10, manager.getCell("First").getNumericCellValue());
+
+            Assertions.assertEquals(20, manager.getCell("Data!A4").getNumericCellValue());
+            manager.getWorkbook().setSheetName(0, "Renamed");
+            Assertions.assertThrows(NotFoundSheetWorkbookException.class, () -> manager.getCell("Data!A4"));
+            Assertions.assertEquals(20, manager.getCell("Renamed!A4").getNumericCellValue());
+
+            manager.getWorkbook().removeSheetAt(0);
+            manager.getWorkbook().createSheet("Renamed").createRow(3).createCell(0).setCellValue(99);
+            Assertions.assertEquals(99, manager.getCell("Renamed!A4").getNumericCellValue());
+        }
+    }
+
+    @Test
+    void rangeReadAndWrite() throws Exception {
+        try (var manager = new WorkbookManager()) {
+            var sheet = manager.getWorkbook().createSheet("Data");
+            var name = manager.getWorkbook().createName();
+            name.setNameName("Inputs");
+            name.setRefersToFormula("Data!$A$1:$B$3");
+            sheet.createRow(0).createCell(2).setCellFormula("SUM(A1:B1)");
+
+            manager.writeRange("Inputs", new double[][]{{1, 2}, {3, 4}, {5}});
+            Assertions.assertArrayEquals(new double[]{5, Double.NaN}, manager.readRange("Data!A3:B3")[0]);
+            Assertions.assertEquals(0, manager.readRange("Data!C1")[0][0]);
+            Assertions.assertEquals(3, manager.readEvaluatedRange("Data!C1")[0][0]);
+
+            manager.writeRange("Data!D1:E2", new Object[][]{{"Total", true}, {null, LocalDate.of(2024, 1, 1)}});
+            var values = manager.readRangeValues("Data!C1:E2");
+            Assertions.assertArrayEquals(new Object[]{3.0, "Total", true}, values[0]);
+            Assertions.assertArrayEquals(new Object[]{null, "", DateUtil.getExcelDate(LocalDate.of(2024, 1, 1))}, values[1]);
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> manager.writeRange("Data!A1:B1", new double[][]{{1, 2, 3}}));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> manager.writeRange("Data!A1:B1", new double[][]{{1}, {2}}));
+        }
+    }
+
+    @Test
+    void openModes(@TempDir Path directory) throws Exception {
+        for (var type : new WorkbookType[]{WorkbookType.XLSX, WorkbookType.XLS}) {
+            var path = directory.resolve("source." + type.getExtension());
+            try (var manager = new WorkbookManager(type)) {
+                manager.getWorkbook().createSheet("Data").createRow(0).createCell(0).setCellValue("Original");
+                manager.writeTo(path);
+            }
+            var original = Files.readAllBytes(path);
+
+            for (var mode : OpenMode.values()) {
+                var copy = directory.resolve(mode + "." + type.getExtension());
+                try (var manager = WorkbookManager.open(path, mode)) {
+                    var cell = manager.getCell("Data!A1");
+                    Assertions.assertEquals("Original", cell.getStringCellValue());
+                    cell.setCellValue("Changed");
+                    if (mode == OpenMode.READ_ONLY && type == WorkbookType.XLSX) continue;
+                    manager.writeTo(copy);
+                }
+                try (var written = new WorkbookManager(copy)) {
+                    Assertions.assertEquals("Changed", written.getCell("Data!A1").getStringCellValue());
+                }
+            }
+            Assertions.assertArrayEquals(original, Files.readAllBytes(path));
+        }
+    }
+
+    @Test
+    void writeOptions() throws Exception {
+        try (var manager = new WorkbookManager()) {
+            for (var sheetIndex = 0; sheetIndex < 3; sheetIndex++) {
+                var sheet = manager.getWorkbook().createSheet("Sheet " + sheetIndex);
+                for (var rowIndex = 0; rowIndex < 500; rowIndex++) sheet.createRow(rowIndex).createCell(0).setCellValue("Value " + rowIndex);
+            }
+
+            var sizes = new ArrayList<Integer>();
+            var parallel = WriteOptions.DEFAULT.withCompressionLevel(1).withParallelDeflate(ForkJoinPool.commonPool());
+            byte[] parallelContent = null;
+            for (var options : List.of(WriteOptions.DEFAULT.withStoredEntries(), parallel, WriteOptions.DEFAULT.withCompressionLevel(9))) {
+                manager.setWriteOptions(options);
+                var content = manager.getSpreadsheet("options").getContent();
+                sizes.add(content.length);
+                try (var read = new WorkbookManager(content)) {
+                    Assertions.assertEquals("Value 499", read.getCell("'Sheet 2'!A500").getStringCellValue());
+                }
+                if (options == parallel) {
+                    parallelContent = content;
+                    Assertions.assertArrayEquals(content, manager.getSpreadsheet("options").getContent());
+                }
+            }
+            Assertions.assertTrue(sizes.get(0) > sizes.get(1) && sizes.get(0) > sizes.get(2), sizes.toString());
+
+            manager.setWriteOptions(parallel.withParallelDeflate(Runnable::run));
+            Assertions.assertArrayEquals(parallelContent, manager.getSpreadsheet("options").getContent());
+        }
+
+        try (var manager = WorkbookManager.streaming()) {
+            var sheet = manager.getWorkbook().createSheet("Data");
+            for (var rowIndex = 0; rowIndex < 500; rowIndex++) sheet.createRow(rowIndex).createCell(0).setCellValue("Value " + rowIndex);
+            manager.setWriteOptions(WriteOptions.DEFAULT.withStoredEntries());
+            var stored = manager.getSpreadsheet("stored").getContent();
+            manager.setWriteOptions(WriteOptions.DEFAULT.withCompressionLevel(9));
+            Assertions.assertTrue(stored.length > manager.getSpreadsheet("compressed").getContent().length);
+        }
+    }
+
+    @Test
+    void reportBatch() throws Exception {
+        var small = new ArrayList<Person>();
+        var large = new ArrayList<Person>();
+        for (var i = 0; i < 10000; i++) {
+            var person = new Person("Juan", 12, "New York", "111@aa.com", "123456", i + " Doe");
+            if (i < 1000) small.add(person);
+            large.add(person);
+        }
+        WorkbookListMapper.ListMapperConfigurator<Person> columns = (manager, configuration) -> configuration
+                .withColumn("Name", Person::name)
+                .withColumn("Last Name", Person::lastName);
+
+        var budget = 8L * 1024 * 1024;
+        try (var executor = new ReportBatchExecutor(budget)) {
+            var files = new java.util.concurrent.ConcurrentHashMap<String, byte[]>();
+            var liveOutput = new java.util.concurrent.atomic.AtomicLong();
+            var maxLiveOutput = new java.util.concurrent.atomic.AtomicLong();
+            var releasedBeforeClose = new AtomicBoolean();
+            ReportSink sink = filename -> new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    super.write(b, off, len);
+                    maxLiveOutput.accumulateAndGet(liveOutput.addAndGet(len), Math::max);
+                }
+
+                @Override
+                public void close() {
+                    // The report keeps its budget until its file is consumed
+                    if (executor.getAvailableBytes() >= budget) releasedBeforeClose.set(true);
+                    liveOutput.addAndGet(-size());
+                    files.put(filename, toByteArray());
+                }
+            };
+
+            var results = executor.invokeAll(List.of(
+                    ReportJob.of("small", small, 2, columns),
+                    ReportJob.of("large", large, 2, columns),
+                    ReportJob.of("large-xls", large, 2, columns).type(WorkbookType.XLS),
+                    ReportJob.<Person>of("failing", small, 2, (manager, configuration) -> {
+                        throw new IllegalStateException("Failed");
+                    })
+            ), sink);
+
+            Assertions.assertEquals(List.of("small", "large", "large-xls", "failing"), results.stream().map(ReportResult::name).toList());
+            Assertions.assertFalse(results.get(0).streaming());
+            Assertions.assertTrue(results.get(1).streaming());
+            Assertions.assertFalse(results.get(2).streaming());
+            Assertions.assertTrue(results.get(2).estimatedBytes() > results.get(0).estimatedBytes());
+            Assertions.assertEquals("Failed", results.get(3).error().getMessage());
+            Assertions.assertNull(results.get(3).filename());
+            Assertions.assertFalse(releasedBeforeClose.get());
+            Assertions.assertTrue(maxLiveOutput.get() > 0 && maxLiveOutput.get() <= budget, "Live output: " + maxLiveOutput.get());
+            Assertions.assertEquals(0, liveOutput.get());
+
+            for (var result : results.subList(0, 3)) {
+                Assertions.assertTrue(result.isSuccessful());
+                var content = files.get(result.filename());
+                Assertions.assertEquals(result.size(), content.length);
+                try (var read = new WorkbookManager(content)) {
+                    var sheet = read.getWorkbook().getSheetAt(0);
+                    Assertions.assertEquals(result.name().equals("small") ? 1000 : 10000, sheet.getLastRowNum());
+                    Assertions.assertEquals("999 Doe", sheet.getRow(1000).getCell(1).getStringCellValue());
+                }
+            }
+            Assertions.assertEquals(budget, executor.getAvailableBytes());
+        }
+    }
+
+    @Test
+    void mapAsync() throws Exception {
+        var persons = List.of(new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"));
+        try (var manager = WorkbookListMapper.from(persons).mapAsync((ignored, configuration) -> configuration
+                .withColumn("Name", Person::name), ForkJoinPool.commonPool()).get()) {
+            Assertions.assertEquals("Juan", manager.getCell("Sheet0!A2").getStringCellValue());
+        }
+
+        var read = new AtomicInteger();
+        var closed = new AtomicBoolean();
+        var started = new CountDownLatch(1);
+        var cancelled = new CountDownLatch(1);
+        var models = Stream.generate(() -> new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe"))
+                .limit(100000)
+                .peek(person -> {
+                    if (read.incrementAndGet() != 1000) return;
+                    started.countDown();
+                    try {
+                        Assertions.assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .onClose(() -> closed.set(true));
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var future = WorkbookListMapper.from(models, WorkbookManager.streaming())
+                    .mapAsync((ignored, configuration) -> configuration.withColumn("Name", Person::name), executor);
+            Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(future.cancel(true));
+            cancelled.countDown();
+
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(future.isCancelled());
+            Assertions.assertTrue(closed.get());
+            Assertions.assertTrue(read.get() < 1010, "Rows read after cancelling: " + read.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void metricsListener() throws Exception {
+        var phases = new java.util.EnumMap<WorkbookMetricsListener.Phase, Long>(WorkbookMetricsListener.Phase.class);
+        var mapped = new AtomicInteger();
+        WorkbookMetricsListener listener = new WorkbookMetricsListener() {
+            @Override
+            public void phaseCompleted(Phase phase, long nanos, long count) {
+                phases.merge(phase, count, Long::sum);
+            }
+
+            @Override
+            public void mappingCompleted(int rows, long nanos) {
+                mapped.set(rows);
+            }
+        };
+
+        var persons = Stream.generate(() -> new Person("Juan", 12, "New York", "111@aa.com", "123456", "Doe")).limit(500).toList();
+        var progress = new ArrayList<Integer>();
+        try (var manager = new WorkbookManager()) {
+            manager.setMetricsListener(listener);
+            WorkbookListMapper.from(persons, manager).map((ignored, configuration) -> configuration
+                    .withColumn("Name", Person::name, CellStylizer.init().fontBold())
+                    .withNumberColumn("Age", Person::age)
+                    .autoSizeColumns(1.1)
+                    .progressInterval(java.time.Duration.ofHours(1))
+                    .withProgressListener((written, total) -> progress.add(written)));
+            manager.writeTo(new ByteArrayOutputStream());
+        }
+
+        Assertions.assertEquals(List.of(1, 500), progress);
+        Assertions.assertEquals(500, mapped.get());
+        Assertions.assertEquals(1000L, phases.get(WorkbookMetricsListener.Phase.CELL_WRITING));
+        Assertions.assertEquals(2L, phases.get(WorkbookMetricsListener.Phase.AUTOSIZING));
+        Assertions.assertEquals(0L, phases.get(WorkbookMetricsListener.Phase.ROW_SHIFTING));
+        Assertions.assertEquals(1L, phases.get(WorkbookMetricsListener.Phase.STYLE_BUILDING));
+        Assertions.assertTrue(phases.get(WorkbookMetricsListener.Phase.SERIALIZATION) > 0);
+    }
+
+    @Test
+    void dirtyOnlyEvaluation() throws Exception {
+        for (var type : List.of(WorkbookType.XLSX, WorkbookType.XLS)) {
+            try (var manager = new WorkbookManager(type)) {
+                var sheet = manager.getWorkbook().createSheet("Data");
+                var row = sheet.createRow(0);
+                row.createCell(0).setCellValue(1);
+                row.createCell(1).setCellValue(2);
+                row.createCell(2).setCellFormula("A1+B1");
+                row.createCell(3).setCellFormula("B1*10");
+                row.createCell(4).setCellFormula("C1*2");
+                var totals = manager.getWorkbook().createSheet("Totals").createRow(0).createCell(0);
+                totals.setCellFormula("SUM(Data!D1:D3)");
+
+                var evaluated = new AtomicLong();
+                manager.setMetricsListener(new WorkbookMetricsListener() {
+                    @Override
+                    public void phaseCompleted(Phase phase, long nanos, long count) {
+                        if (phase == Phase.FORMULA_EVALUATION) evaluated.set(count);
+                    }
+                });
+
+                manager.setEvaluationPolicy(FormulaEvaluationPolicy.DIRTY_ONLY);
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(3, row.getCell(2).getNumericCellValue());
+                Assertions.assertEquals(20, row.getCell(3).getNumericCellValue());
+                Assertions.assertEquals(4, evaluated.get());
+
+                manager.setCellValue("Data!A1", 5);
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(7, row.getCell(2).getNumericCellValue());
+                Assertions.assertEquals(20, row.getCell(3).getNumericCellValue());
+                Assertions.assertEquals(14, row.getCell(4).getNumericCellValue());
+                Assertions.assertEquals(2, evaluated.get());
+
+                row.getCell(1).setCellValue(4);
+                manager.markDirty(row.getCell(1));
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(9, row.getCell(2).getNumericCellValue());
+                Assertions.assertEquals(40, row.getCell(3).getNumericCellValue());
+                Assertions.assertEquals(40, totals.getNumericCellValue());
+                Assertions.assertEquals(4, evaluated.get());
+
+                var added = sheet.createRow(2);
+                added.createCell(1).setCellValue(1);
+                added.createCell(3).setCellFormula("B3*10");
+                manager.markDirty(sheet, new CellRangeAddress(2, 2, 0, 3));
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(10, added.getCell(3).getNumericCellValue());
+                Assertions.assertEquals(50, totals.getNumericCellValue());
+                Assertions.assertEquals(2, evaluated.get());
+
+                sheet.shiftRows(2, 2, 1);
+                manager.resetFormulaTracking();
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(5, evaluated.get());
+
+                manager.setCellValue("Data!B4", 2);
+                manager.writeTo(new ByteArrayOutputStream());
+                Assertions.assertEquals(20, sheet.getRow(3).getCell(3).getNumericCellValue());
+                Assertions.assertEquals("SUM(Data!D1:D4)", totals.getCellFormula());
+                Assertions.assertEquals(60, totals.getNumericCellValue());
+                Assertions.assertEquals(2, evaluated.get());
+            }
+        }
+    }
+
+
+    @Test
+    void styleRegistry() throws Exception {
+        for (var type : List.of(WorkbookType.XLSX, WorkbookType.XLS)) {
+            byte[] content;
+            short index;
+            try (var manager = new WorkbookManager(type)) {
+                var registry = manager.getStyleRegistry();
+                var workbook = manager.getWorkbook();
+                var styles = workbook.getNumCellStyles();
+
+                var style = registry.getStyle(CellStylizer.init().fontBold().center().foregroundColor(200, 10, 10));
+                Assertions.assertSame(style, registry.getStyle(CellStylizer.init().center().fontBold().foregroundColor(200, 10, 10)));
+                Assertions.assertNotSame(style, registry.getStyle(CellStylizer.init().fontBold()));
+                Assertions.assertTrue(registry.getStyle(CellStylizer.init()).getIndex() < styles);
+                Assertions.assertEquals(styles + 2, workbook.getNumCellStyles());
+                Assertions.assertTrue(workbook.getFontAt(style.getFontIndex()).getBold());
+                Assertions.assertSame(registry.getColor(200, 10, 10), registry.getColor(200, 10, 10));
+                if (style.getFillForegroundColorColor() instanceof ExtendedColor color) {
+                    Assertions.assertEquals("FFC80A0A", color.getARGBHex());
+                }
+
+                workbook.createSheet().createRow(0).createCell(0).setCellStyle(style);
+                index = style.getIndex();
+                content = manager.getSpreadsheet("Styles").getContent();
+            }
+
+            try (var template = new WorkbookManager(content)) {
+                var styles = template.getWorkbook().getNumCellStyles();
+                var style = template.getStyleRegistry().getStyle(CellStylizer.init().foregroundColor(200, 10, 10).center().fontBold());
+                Assertions.assertEquals(index, style.getIndex());
+                Assertions.assertEquals(styles, template.getWorkbook().getNumCellStyles());
+            }
+        }
+    }
+
     private void save(SpreadSheetFile report) throws FileNotFoundException {
 
         var file = new java.io.File(report.getFilename());
@@ -120,6 +1017,16 @@ class TestWorkbook {
     }
 
 
+    record Sale(
+            @WorkbookColumn(value = "Id", order = 0) long id,
+            String customerName,
+            @WorkbookColumn(format = "#,##0.00") double total,
+            boolean paid,
+            LocalDate date,
+            @WorkbookColumn(ignore = true) String internalNote
+    ) {
+    }
+
     public record Person(String name, int age, String address, String email, String phone, String lastName) {
     }
 }
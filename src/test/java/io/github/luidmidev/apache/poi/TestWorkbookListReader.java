@@ -0,0 +1,119 @@
+package io.github.luidmidev.apache.poi;
+
+import io.github.luidmidev.apache.poi.exceptions.NotFoundColumnWorkbookException;
+import io.github.luidmidev.apache.poi.model.CellData;
+import io.github.luidmidev.apache.poi.model.WorkbookType;
+import lombok.Data;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+class TestWorkbookListReader {
+
+    @Test
+    void read(@TempDir Path directory) throws Exception {
+        var persons = new ArrayList<TestWorkbook.Person>();
+        for (var i = 0; i < 10000; i++) {
+            persons.add(new TestWorkbook.Person("Juan", i % 90, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var path = directory.resolve("Persons.xlsx");
+        var birthday = LocalDate.of(1990, 1, 1);
+
+        try (var manager = WorkbookListMapper.from(persons, WorkbookManager.streaming())
+                .map((workbookManager, configuration) -> {
+                    var workbook = workbookManager.getWorkbook();
+                    var dateStyle = workbook.createCellStyle();
+                    dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+                    configuration
+                            .withColumn("Name", TestWorkbook.Person::name)
+                            .withColumn("Age", TestWorkbook.Person::age)
+                            .withColumn("Last Name", TestWorkbook.Person::lastName)
+                            .withColumn("Birthday", person -> birthday, cell -> cell.setCellStyle(dateStyle));
+                })) {
+            manager.writeTo(path);
+        }
+
+        var currentTimeMillis = System.currentTimeMillis();
+        var read = new ArrayList<PersonRow>();
+
+        try (var rows = WorkbookListReader.from(path, PersonRow::new)
+                .read(configuration -> configuration
+                        .withColumn("Last Name", PersonRow::setLastName)
+                        .withColumn("Name", PersonRow::setName)
+                        .withColumn("Age", CellData::asInt, PersonRow::setAge)
+                        .withColumn("Birthday", CellData::asLocalDate, PersonRow::setBirthday)
+                )) {
+            rows.forEach(read::add);
+        }
+
+        System.out.println("Time on read rows: " + (System.currentTimeMillis() - currentTimeMillis));
+
+        Assertions.assertEquals(persons.size(), read.size());
+        for (var i = 0; i < persons.size(); i++) {
+            Assertions.assertEquals(persons.get(i).name(), read.get(i).getName());
+            Assertions.assertEquals(persons.get(i).age(), read.get(i).getAge());
+            Assertions.assertEquals(persons.get(i).lastName(), read.get(i).getLastName());
+            Assertions.assertEquals(birthday, read.get(i).getBirthday());
+        }
+
+        Assertions.assertThrows(NotFoundColumnWorkbookException.class, () -> WorkbookListReader.from(Files.newInputStream(path), PersonRow::new)
+                .read(configuration -> configuration.withColumn("Unknown", PersonRow::setName)));
+    }
+
+    @Test
+    void readXls(@TempDir Path directory) throws Exception {
+        var persons = new ArrayList<TestWorkbook.Person>();
+        for (var i = 0; i < 5000; i++) {
+            persons.add(new TestWorkbook.Person("Juan", i % 90, "New York", "111@aa.com", "123456", i + " Doe"));
+        }
+
+        var path = directory.resolve("Persons.xls");
+        try (var manager = new WorkbookListMapper<>(persons, WorkbookType.XLS)
+                .map((workbookManager, configuration) -> configuration
+                        .withColumn("Name", TestWorkbook.Person::name)
+                        .withColumn("Age", TestWorkbook.Person::age)
+                        .withColumn("Last Name", TestWorkbook.Person::lastName)
+                )) {
+            var sheet = manager.getWorkbook().getSheetAt(0);
+            var total = sheet.getRow(0).createCell(4);
+            total.setCellFormula("\"Total \" & COUNTA(A2:A" + (persons.size() + 1) + ")");
+            manager.writeTo(path);
+        }
+
+        var read = new ArrayList<PersonRow>();
+        try (var rows = WorkbookListReader.from(path, PersonRow::new)
+                .read(configuration -> configuration
+                        .withColumn("Name", PersonRow::setName)
+                        .withColumn("Age", CellData::asInt, PersonRow::setAge)
+                        .withColumn("Last Name", PersonRow::setLastName)
+                )) {
+            rows.forEach(read::add);
+        }
+
+        Assertions.assertEquals(persons.size(), read.size());
+        for (var i = 0; i < persons.size(); i++) {
+            Assertions.assertEquals(persons.get(i).name(), read.get(i).getName());
+            Assertions.assertEquals(persons.get(i).age(), read.get(i).getAge());
+            Assertions.assertEquals(persons.get(i).lastName(), read.get(i).getLastName());
+        }
+
+        try (var rows = WorkbookListReader.from(path, PersonRow::new)
+                .read(configuration -> configuration.withColumn("Total 5000", PersonRow::setName))) {
+            Assertions.assertEquals(0, rows.count());
+        }
+    }
+
+    @Data
+    static class PersonRow {
+        private String name;
+        private int age;
+        private String lastName;
+        private LocalDate birthday;
+    }
+}